@@ -0,0 +1,96 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the {@link GuessCalculator} construction and of a full
+ * {@link AlgorithmEvaluator} evaluation, with an eager or a lazy calculator. These are
+ * long-running operations, so each invocation is measured separately.
+ * 
+ * @author Stoyan Rachev
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CalculatorBenchmark
+{
+    @Param({ Setups.MM1, Setups.MM2 })
+    public String setup;
+
+    @Param({ Setups.ALG_SIMPLE, Setups.ALG_KNUTH, Setups.ALG_EXP_SIZE })
+    public String alg;
+
+    @Param({ "1", "2" })
+    public int levels;
+
+    private Mastermind mastermind;
+    private AlgorithmFactory factory;
+
+    @Setup
+    public final void setUp()
+    {
+        mastermind = Setups.createMastermind(setup);
+        factory = Setups.createFactory(mastermind, alg);
+    }
+
+    @Benchmark
+    public final GuessCalculator createGuessCalculator()
+    {
+        return new GuessCalculator(mastermind, factory, levels);
+    }
+
+    @Benchmark
+    public final GuessCalculator createGuessCalculatorParallel()
+    {
+        return new GuessCalculator(mastermind, factory, levels, Workers.getDefaultThreads());
+    }
+
+    @Benchmark
+    public final int evaluate()
+    {
+        final AlgorithmEvaluator evaluator = new AlgorithmEvaluator(mastermind, factory, levels);
+        evaluator.evaluate();
+        return evaluator.getTotalRoundsPlayed();
+    }
+
+    @Benchmark
+    public final int evaluateLazy()
+    {
+        final AlgorithmEvaluator evaluator = new AlgorithmEvaluator(mastermind, factory,
+            GuessCalculator.createLazy(mastermind, factory, levels));
+        evaluator.evaluate();
+        return evaluator.getTotalRoundsPlayed();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import java.util.SortedSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of filtering the set of all codes by the score of a guess, both with the string and
+ * with the index variant of <code>Mastermind.evaluatePossibleCodes</code>, and of visiting all
+ * codes with <code>Mastermind.visitCodes</code>.
+ * 
+ * @author Stoyan Rachev
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FilteringBenchmark
+{
+    @Param({ Setups.MM1, Setups.MM2, Setups.UNIQUE })
+    public String setup;
+
+    private Mastermind mastermind;
+    private String guess;
+    private int guessIndex;
+    private Score score;
+
+    @Setup
+    public final void setUp()
+    {
+        mastermind = Setups.createMastermind(setup);
+        guessIndex = mastermind.getCodes().size() / 2;
+        guess = mastermind.getCodes().getCode(guessIndex);
+        score = new Score(1, 1);
+        if (!mastermind.isValidScore(score))
+        {
+            score = Score.ZERO_SCORE;
+        }
+    }
+
+    @Benchmark
+    public final SortedSet<String> evaluatePossibleCodesString()
+    {
+        return mastermind.evaluatePossibleCodes(guess, score, mastermind.getAllPossibleCodes());
+    }
+
+    @Benchmark
+    public final CodeSet evaluatePossibleCodesIndex()
+    {
+        return mastermind.evaluatePossibleCodes(guessIndex, score, mastermind.getAllCodes());
+    }
+
+    @Benchmark
+    public final void visitCodes(final Blackhole blackhole)
+    {
+        mastermind.visitCodes(new CodeVisitor()
+        {
+            @Override
+            public void visit(final String code)
+            {
+                blackhole.consume(code);
+            }
+        });
+    }
+}
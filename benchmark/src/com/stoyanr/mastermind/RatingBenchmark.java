@@ -0,0 +1,83 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the <code>calculateGuessRating</code> implementations of all algorithms extending
+ * {@link AbstractAlgorithm}, and of making a complete guess. The ratings are calculated against all
+ * codes, as in the first round of a game, which is the most expensive one. Each invocation rates
+ * the next guess, so that all guesses are covered.
+ * 
+ * @author Stoyan Rachev
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RatingBenchmark
+{
+    @Param({ Setups.MM1, Setups.MM2 })
+    public String setup;
+
+    @Param({ Setups.ALG_SIMPLE, Setups.ALG_KNUTH, Setups.ALG_EXP_SIZE, Setups.ALG_PHARAOX })
+    public String alg;
+
+    private AlgorithmFactory factory;
+    private AbstractAlgorithm algorithm;
+    private int size;
+    private int guess;
+
+    @Setup
+    public final void setUp()
+    {
+        final Mastermind mastermind = Setups.createMastermind(setup);
+        factory = Setups.createFactory(mastermind, alg);
+        algorithm = (AbstractAlgorithm) factory.getAlgorithm();
+        size = mastermind.getCodes().size();
+    }
+
+    @Benchmark
+    public final double calculateGuessRating()
+    {
+        guess = (guess + 1) % size;
+        return algorithm.calculateGuessRating(guess);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public final String makeGuess()
+    {
+        return factory.getAlgorithm().makeGuess();
+    }
+}
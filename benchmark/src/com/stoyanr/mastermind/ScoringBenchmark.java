@@ -0,0 +1,131 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of scoring a single guess against a single code, both with the string and with the
+ * index variant of <code>Mastermind.evaluateScore</code>, for setups with unique and non-unique
+ * characters. Each invocation scores the next guess / code pair, so that all pairs are covered.
+ * The batch benchmark scores the next guess against all codes with the {@link ScoreKernel}.
+ * 
+ * @author Stoyan Rachev
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScoringBenchmark
+{
+    @Param({ Setups.MM1, Setups.MM2, Setups.UNIQUE })
+    public String setup;
+
+    private Mastermind mastermind;
+    private String[] codes;
+    private ScoreKernel kernel;
+    private int[] indexes;
+    private byte[] ordinals;
+    private int[] histogram;
+    private int size;
+    private int guess;
+    private int code;
+
+    @Setup
+    public final void setUp()
+    {
+        mastermind = Setups.createMastermind(setup);
+        size = mastermind.getCodes().size();
+        codes = new String[size];
+        for (int i = 0; i < size; i++)
+        {
+            codes[i] = mastermind.getCodes().getCode(i);
+        }
+        kernel = mastermind.getScoreKernel();
+        indexes = new int[size];
+        for (int i = 0; i < size; i++)
+        {
+            indexes[i] = i;
+        }
+        ordinals = new byte[size];
+        histogram = new int[mastermind.getAllPossibleScores().size()];
+    }
+
+    private void next()
+    {
+        code++;
+        if (code == size)
+        {
+            code = 0;
+            guess = (guess + 1) % size;
+        }
+    }
+
+    @Benchmark
+    public final Score evaluateScoreString()
+    {
+        next();
+        return mastermind.evaluateScore(codes[guess], codes[code]);
+    }
+
+    @Benchmark
+    public final Score evaluateScoreIndex()
+    {
+        next();
+        return mastermind.evaluateScore(guess, code);
+    }
+
+    @Benchmark
+    public final int evaluateScoreOrdinal()
+    {
+        next();
+        return mastermind.evaluateScoreIndex(guess, code);
+    }
+
+    @Benchmark
+    public final byte[] evaluateScoreOrdinals()
+    {
+        guess = (guess + 1) % size;
+        kernel.evaluateScoreIndexes(guess, indexes, ordinals);
+        return ordinals;
+    }
+
+    @Benchmark
+    public final int[] evaluateScoreHistogram()
+    {
+        guess = (guess + 1) % size;
+        Arrays.fill(histogram, 0);
+        mastermind.evaluateScores(guess, indexes, histogram, null);
+        return histogram;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+/**
+ * Helper methods for creating the game setups and algorithm factories used by the benchmarks from
+ * their string parameters. A setup is specified as <code>alphabet:length</code>, optionally
+ * followed by <code>:u</code> for unique characters, for example <code>ABCDEF:4</code>.
+ * 
+ * @author Stoyan Rachev
+ */
+public final class Setups
+{
+    public static final String MM1 = "ABCDEF:4";
+    public static final String MM2 = "ABCD:2";
+    public static final String UNIQUE = "0123456789:4:u";
+
+    public static final String ALG_SIMPLE = "simple";
+    public static final String ALG_KNUTH = "knuth";
+    public static final String ALG_EXP_SIZE = "exp_size";
+    public static final String ALG_PHARAOX = "pharaox";
+
+    private static final String SEPARATOR = ":";
+    private static final String UNIQUE_CHARS = "u";
+    private static final double PHARAOX_PERCENTS = 0.5;
+
+    private Setups()
+    {
+    }
+
+    /**
+     * Creates the game setup specified by the passed string.
+     * 
+     * @param setup The setup string.
+     * @return The game setup.
+     */
+    public static Mastermind createMastermind(final String setup)
+    {
+        final String[] parts = setup.split(SEPARATOR);
+        final boolean uniqueChars = (parts.length > 2 && parts[2].equals(UNIQUE_CHARS));
+        return new Mastermind(parts[0], Integer.parseInt(parts[1]), uniqueChars);
+    }
+
+    /**
+     * Creates a factory for the algorithm with the passed name.
+     * 
+     * @param mastermind The game setup to use.
+     * @param alg The algorithm name.
+     * @return The algorithm factory.
+     */
+    public static AlgorithmFactory createFactory(final Mastermind mastermind, final String alg)
+    {
+        AlgorithmFactory factory;
+        if (alg.equals(ALG_KNUTH))
+        {
+            factory = new KnuthAlgorithmFactory(mastermind);
+        }
+        else if (alg.equals(ALG_EXP_SIZE))
+        {
+            factory = new ExpectedSizeAlgorithmFactory(mastermind);
+        }
+        else if (alg.equals(ALG_PHARAOX))
+        {
+            factory = new PharaoxAlgorithmFactory(mastermind, PHARAOX_PERCENTS);
+        }
+        else if (alg.equals(ALG_SIMPLE))
+        {
+            factory = new SimpleAlgorithmFactory(mastermind);
+        }
+        else
+        {
+            throw new MastermindException();
+        }
+        return factory;
+    }
+}
@@ -1,196 +1,543 @@
-/*
- * $Id: $
- *
- * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- * 
- *     http://www.apache.org/licenses/LICENSE-2.0
- * 
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-package com.stoyanr.mastermind;
-
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.SortedSet;
-import java.util.TreeSet;
-
-/**
- * An abstract {@link Algorithm} implementation to be extended by the concrete strategies. It does
- * the following to make the next guess:
- * <ul>
- * <li>Based on the guesses and their scores so far, evaluate the set of all possible codes that
- * could be a solution.</li>
- * <li>If this set is non-empty, take its first member, assign it a rating of 0, and promote it as
- * our best guess so far.</li>
- * <li>Iterate through the set of all codes of the given game setup, and for each member calculate a
- * rating. Note that here we iterate through <strong>all</strong> codes, not just all
- * <strong>possible</strong> codes, since the best guess for a given algorithm could also be
- * impossible. Compare this calculated rating to the best rating we have so far, and promote it as
- * the best rating if it's higher, or if it's equal and the current code is possible, while the
- * current best guess is not possible.</li>
- * </ul>
- * 
- * <p>
- * This class has a single protected abstract method {@link #calculateGuessRating(String)}. All
- * concrete strategies extending this class should implement only this single method, as they differ
- * only in the way they rate the guesses.
- * 
- * <p>
- * This is the <a href="http://en.wikipedia.org/wiki/Template_method_pattern">Template Method</a>
- * design pattern in action.
- * 
- * @author Stoyan Rachev
- * 
- */
-public abstract class AbstractAlgorithm implements Algorithm
-{
-    private static final double EPSILON = 0.0000001;
-
-    private final transient Mastermind mastermind;
-    private final transient Map<String, Score> guessScores = new HashMap<String, Score>();
-    private final transient Set<String> evaluated = new HashSet<String>();
-
-    private transient SortedSet<String> possibleCodes;
-
-    /**
-     * Creates an abstract algorithm for the passed game setup.
-     * 
-     * @param mastermind The game setup to use.
-     */
-    public AbstractAlgorithm(final Mastermind mastermind)
-    {
-        assert (mastermind != null);
-        this.mastermind = mastermind;
-        initPossibleCodes();
-    }
-
-    private void initPossibleCodes()
-    {
-        possibleCodes = new TreeSet<String>();
-        possibleCodes.addAll(mastermind.getAllPossibleCodes());
-    }
-
-    /**
-     * Returns all possible scores for the current game setup. This method simply delegates to
-     * {@link Mastermind#getAllPossibleScores()}.
-     * 
-     * @return All possible scores for the current game setup.
-     */
-    protected final List<Score> getAllPossibleScores()
-    {
-        return mastermind.getAllPossibleScores();
-    }
-
-    /**
-     * Returns all codes that are still possible (could be a solution), taking into account the
-     * scores assigned to all previously made guesses.
-     * 
-     * @return All codes that are still possible.
-     */
-    public final SortedSet<String> getPossibleCodes()
-    {
-        return possibleCodes;
-    }
-
-    @Override
-    public final String makeGuess()
-    {
-        evaluateGuesses();
-        String guess = "";
-        if (!possibleCodes.isEmpty())
-        {
-            guess = makeNextGuess();
-        }
-        assert (guess.isEmpty() == possibleCodes.isEmpty());
-        return guess;
-    }
-
-    private void evaluateGuesses()
-    {
-        for (final String guess : guessScores.keySet())
-        {
-            if (!evaluated.contains(guess))
-            {
-                final Score score = guessScores.get(guess);
-                possibleCodes = evaluatePossibleCodes(guess, score);
-                evaluated.add(guess);
-            }
-        }
-    }
-
-    /**
-     * Determines all codes from the still possible codes against which the passed guess evaluates
-     * as the passed score. This method simply delegates to {@link
-     * Mastermind#evaluatePossibleCodes(String, Score, SortedSet)}.
-     * 
-     * @param guess The guess to be checked.
-     * @param score The score that we are aiming at.
-     * @return All codes which satisfy the above conditions, sorted alphabetically.
-     */
-    protected final SortedSet<String> evaluatePossibleCodes(final String guess, final Score score)
-    {
-        return mastermind.evaluatePossibleCodes(guess, score, possibleCodes);
-    }
-
-    private String makeNextGuess()
-    {
-        String bestGuess = possibleCodes.first();
-        double maxRating = 0.0;
-        final SortedSet<String> allPossibleCodes = mastermind.getAllPossibleCodes();
-        for (final String guess : allPossibleCodes)
-        {
-            final double rating = calculateGuessRating(guess);
-            if (isBetterGuess(guess, rating, bestGuess, maxRating))
-            {
-                bestGuess = guess;
-                maxRating = Math.max(maxRating, rating);
-            }
-        }
-        return bestGuess;
-    }
-
-    /**
-     * Calculates a rating for the passed guess. The calculated rating should be a double value
-     * greater or equal to 0. Usually, the guess with the highest rating is the guess eventually
-     * returned by {@link #makeGuess()}.
-     * 
-     * @param guess The guess for which a rating should be calculated.
-     * @return The rating calculated for the passed guess.
-     */
-    protected abstract double calculateGuessRating(final String guess);
-
-    // @checkstyle:off (Too many parameters)
-    private boolean isBetterGuess(final String guess, final double rating, final String bestGuess,
-        final double maxRating)
-    // @checkstyle:on
-    {
-        boolean result = false;
-        if (rating > maxRating)
-        {
-            result = true;
-        }
-        else if (Math.abs(maxRating - rating) < EPSILON)
-        {
-            result = possibleCodes.contains(guess) && !possibleCodes.contains(bestGuess);
-        }
-        return result;
-    }
-
-    @Override
-    public final void putGuessScore(final String guess, final Score score)
-    {
-        assert (mastermind.isValidCode(guess) && mastermind.isValidScore(score));
-        guessScores.put(guess, score);
-    }
-}
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An abstract {@link Algorithm} implementation to be extended by the concrete strategies. It does
+ * the following to make the next guess:
+ * <ul>
+ * <li>Based on the guesses and their scores so far, take the set of all possible codes that could
+ * be a solution.</li>
+ * <li>If this set is non-empty, take its first member, assign it a rating of 0, and promote it as
+ * our best guess so far.</li>
+ * <li>Iterate through the set of all canonical codes of the given game setup (see {@link
+ * GuessSymmetry}), and for each member calculate a rating. Note that here we iterate through
+ * <strong>all</strong> codes, not just all <strong>possible</strong> codes, since the best guess
+ * for a given algorithm could also be impossible. Compare this calculated rating to the best rating
+ * we have so far, and promote it as the best rating if it's higher, or if it's equal and the
+ * current code is possible, while the current best guess is not possible.</li>
+ * </ul>
+ * 
+ * <p>
+ * This class has a single protected abstract method {@link #calculateGuessRating(int)}. All
+ * concrete strategies extending this class should implement only this single method, as they differ
+ * only in the way they rate the guesses.
+ * 
+ * <p>
+ * Internally, guesses and codes are represented by their indexes in the {@link CodeTable} of the
+ * game setup. Strings are used only in the {@link Algorithm} methods.
+ * 
+ * <p>
+ * Equivalent guesses always get the same rating, and only the canonical guess with the lowest index
+ * is rated for each class of equivalent guesses. Therefore, {@link #calculateGuessRating(int)}
+ * should depend only on how the guess partitions the possible codes, and not on the guess itself.
+ * 
+ * <p>
+ * The guesses and sets of possible codes after each round are kept in an append-only round log.
+ * Putting a score narrows the set of the previous round exactly once, and {@link #rewind(int)}
+ * simply truncates the log, so a single instance can be used to explore a whole decision tree.
+ * 
+ * <p>
+ * If more than one thread is configured via {@link #setThreads(int)}, the guesses are split into
+ * contiguous ranges with the same number of guesses, which are rated in parallel by the {@link
+ * Workers}. Each worker finds the best guess in its own range, and the results are then merged in
+ * range order using the same comparison as above, so the guess made is always the same as in the
+ * sequential mode. For this reason, {@link #calculateGuessRating(int)} may be invoked concurrently
+ * by several threads and should not modify the state of the algorithm.
+ * 
+ * <p>
+ * For large setups, rating all guesses against all possible codes may be infeasible. If sampling is
+ * configured via {@link #setSampling(int, int, long)}, the guesses are rated only against a random
+ * sample of the possible codes (the "rated codes"), and only a random sample of all guesses,
+ * together with the rated codes themselves, is rated. Since finding the canonical guesses takes
+ * time proportional to the number of all codes, they are used only for the first guess, for which
+ * they are computed once per setup. This bounds the work done for each guess. The samples are drawn
+ * from a random generator seeded with the configured seed and the current round, so the guesses
+ * made are still reproducible.
+ * 
+ * <p>
+ * A guess can also be made within a time limit via {@link #makeGuess(long)}. The guesses which are
+ * possible codes are rated first, and the search is stopped as soon as the time limit expires, in
+ * which case the best guess found so far is returned and {@link #isGuessComplete()} returns false.
+ * As with sampling, the canonical guesses are used only for the first guess in this case.
+ * 
+ * <p>
+ * This is the <a href="http://en.wikipedia.org/wiki/Template_method_pattern">Template Method</a>
+ * design pattern in action.
+ * 
+ * @author Stoyan Rachev
+ * 
+ */
+public abstract class AbstractAlgorithm implements Algorithm
+{
+    private static final double EPSILON = 0.0000001;
+    private static final long MIN_PARALLEL_WORK = 1L << 16;
+    private static final int INITIAL_ROUNDS = 16;
+
+    private static final ThreadLocal<int[][]> PARTITIONS = new ThreadLocal<int[][]>();
+
+    private final transient Mastermind mastermind;
+    private final transient CodeTable codes;
+    private final transient int numScores;
+
+    private final transient GuessSymmetry symmetry;
+
+    private transient int[] roundGuesses = new int[INITIAL_ROUNDS];
+    private transient CodeSet[] roundCodes = new CodeSet[INITIAL_ROUNDS + 1];
+    private transient CodeSet[] roundCanonicalGuesses = new CodeSet[INITIAL_ROUNDS + 1];
+    private transient int rounds;
+    private transient CodeSet possibleCodes;
+    private transient CodeSet ratedCodes;
+    private transient int[] ratedCodeIndexes;
+    private transient int threads = 1;
+    private transient int maxGuesses = Integer.MAX_VALUE;
+    private transient int maxCodes = Integer.MAX_VALUE;
+    private transient long seed;
+    private transient boolean timed;
+    private transient long deadline;
+    private transient boolean guessComplete = true;
+
+    /**
+     * Creates an abstract algorithm for the passed game setup.
+     * 
+     * @param mastermind The game setup to use.
+     */
+    public AbstractAlgorithm(final Mastermind mastermind)
+    {
+        assert (mastermind != null);
+        this.mastermind = mastermind;
+        this.codes = mastermind.getCodes();
+        this.numScores = mastermind.getAllPossibleScores().size();
+        this.possibleCodes = mastermind.getAllCodes();
+        this.ratedCodes = possibleCodes;
+        this.roundCodes[0] = possibleCodes;
+        this.symmetry = mastermind.getGuessSymmetry();
+    }
+
+    /**
+     * Sets the number of threads used to rate the guesses. The default is 1, meaning that all
+     * guesses are rated sequentially by the calling thread. Regardless of this setting, small
+     * searches are always done sequentially.
+     * 
+     * @param threads The number of threads, at least 1.
+     */
+    public final void setThreads(final int threads)
+    {
+        assert (threads > 0);
+        this.threads = threads;
+    }
+
+    /**
+     * Configures the algorithm to rate a random sample of at most <code>maxGuesses</code> guesses
+     * against a random sample of at most <code>maxCodes</code> possible codes when making a guess.
+     * The possible codes in the second sample are also rated as guesses, so the number of ratings
+     * calculated for each guess is bounded by <code>maxGuesses + maxCodes</code>, and each rating
+     * takes time proportional to <code>maxCodes</code>. By default, there is no sampling.
+     * 
+     * @param maxGuesses The max number of canonical guesses to rate, at least 1.
+     * @param maxCodes The max number of possible codes to rate guesses against, at least 1.
+     * @param seed The seed of the random generator used to draw the samples.
+     */
+    public final void setSampling(final int maxGuesses, final int maxCodes, final long seed)
+    {
+        assert (maxGuesses > 0 && maxCodes > 0);
+        this.maxGuesses = maxGuesses;
+        this.maxCodes = maxCodes;
+        this.seed = seed;
+    }
+
+    /**
+     * Returns all possible scores for the current game setup. This method simply delegates to
+     * {@link Mastermind#getAllPossibleScores()}.
+     * 
+     * @return All possible scores for the current game setup.
+     */
+    protected final List<Score> getAllPossibleScores()
+    {
+        return mastermind.getAllPossibleScores();
+    }
+
+    /**
+     * Returns the set of all codes that are still possible (could be a solution), taking into
+     * account the scores assigned to all previously made guesses.
+     * 
+     * @return The set of all codes that are still possible.
+     */
+    public final CodeSet getPossibleCodes()
+    {
+        return possibleCodes;
+    }
+
+    /**
+     * Returns the set of codes against which the guesses are rated while making the current guess.
+     * This is the set of all possible codes, unless sampling is configured via {@link
+     * #setSampling(int, int, long)} and there are too many possible codes, in which case it is a
+     * random sample of them. Ratings should be based on the size of this set rather than on the
+     * size of the set of possible codes.
+     * 
+     * @return The set of codes against which the guesses are rated.
+     */
+    protected final CodeSet getRatedCodes()
+    {
+        return ratedCodes;
+    }
+
+    @Override
+    public final String makeGuess()
+    {
+        timed = false;
+        return makeGuessUntilDeadline();
+    }
+
+    @Override
+    public final String makeGuess(final long timeout)
+    {
+        assert (timeout >= 0);
+        timed = true;
+        deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        return makeGuessUntilDeadline();
+    }
+
+    @Override
+    public final boolean isGuessComplete()
+    {
+        return guessComplete;
+    }
+
+    private String makeGuessUntilDeadline()
+    {
+        String guess = "";
+        guessComplete = true;
+        if (!possibleCodes.isEmpty())
+        {
+            guess = codes.getCode(makeNextGuess());
+        }
+        assert (guess.isEmpty() == possibleCodes.isEmpty());
+        return guess;
+    }
+
+    /**
+     * Determines all codes from the still possible codes against which the passed guess evaluates
+     * as the passed score. This method simply delegates to {@link
+     * Mastermind#evaluatePossibleCodes(int, Score, CodeSet)}.
+     * 
+     * @param guess The index of the guess to be checked.
+     * @param score The score that we are aiming at.
+     * @return The set of all codes which satisfy the above conditions.
+     */
+    protected final CodeSet evaluatePossibleCodes(final int guess, final Score score)
+    {
+        return mastermind.evaluatePossibleCodes(guess, score, possibleCodes);
+    }
+
+    /**
+     * Partitions the rated codes by their score against the passed guess in a single pass, and
+     * returns the sizes of all parts. The element at index <code>i</code> of the returned array is
+     * the number of rated codes against which the guess evaluates as the i-th score in the
+     * list returned by {@link #getAllPossibleScores()}. The returned array is confined to the
+     * calling thread and is reused by subsequent invocations of this method in the same thread, by
+     * any algorithm, so it may be modified but should not be kept.
+     * 
+     * @param guess The index of the guess to be checked.
+     * @return The sizes of all parts of the partition, indexed by score.
+     */
+    protected final int[] evaluatePartition(final int guess)
+    {
+        final int[] partition = getPartition(numScores);
+        Arrays.fill(partition, 0);
+        mastermind.evaluateScores(guess, ratedCodeIndexes, partition, null);
+        return partition;
+    }
+
+    private static int[] getPartition(final int size)
+    {
+        int[][] partitions = PARTITIONS.get();
+        if (partitions == null || partitions.length <= size)
+        {
+            partitions = new int[size + 1][];
+            PARTITIONS.set(partitions);
+        }
+        if (partitions[size] == null)
+        {
+            partitions[size] = new int[size];
+        }
+        return partitions[size];
+    }
+
+    private int makeNextGuess()
+    {
+        ratedCodes = possibleCodes;
+        CodeSet guesses = isSymmetryUsed() ? getCanonicalGuesses() : mastermind.getAllCodes();
+        if (isSampling())
+        {
+            final Random random = new Random(seed + rounds);
+            ratedCodes = possibleCodes.sample(maxCodes, random);
+            guesses = guesses.sample(maxGuesses, random).union(ratedCodes);
+        }
+        ratedCodeIndexes = ratedCodes.toArray();
+        final int size = codes.size();
+        GuessSearch result;
+        if (threads > 1 && (long) guesses.size() * ratedCodes.size() >= MIN_PARALLEL_WORK)
+        {
+            result = new GuessSearch(guesses, 0, 0);
+            for (final GuessSearch search : Workers.invokeAll(createSearches(guesses)))
+            {
+                result.update(search.bestGuess, search.maxRating);
+                result.complete &= search.complete;
+            }
+        }
+        else
+        {
+            result = new GuessSearch(guesses, 0, size).call();
+        }
+        guessComplete = result.complete;
+        return result.bestGuess;
+    }
+
+    /**
+     * Returns whether sampling is configured via {@link #setSampling(int, int, long)}. If not, the
+     * guesses made by this algorithm depend only on the set of possible codes.
+     * 
+     * @return true if sampling is configured, false otherwise.
+     */
+    public final boolean isSampling()
+    {
+        return (maxGuesses != Integer.MAX_VALUE || maxCodes != Integer.MAX_VALUE);
+    }
+
+    private boolean isSymmetryUsed()
+    {
+        return (rounds == 0 || !(isSampling() || timed));
+    }
+
+    private boolean isExpired()
+    {
+        return (timed && System.nanoTime() - deadline >= 0);
+    }
+
+    private CodeSet getCanonicalGuesses()
+    {
+        if (roundCanonicalGuesses[rounds] == null)
+        {
+            roundCanonicalGuesses[rounds] = symmetry.getCanonicalGuesses(roundGuesses, rounds);
+        }
+        return roundCanonicalGuesses[rounds];
+    }
+
+    private List<GuessSearch> createSearches(final CodeSet guesses)
+    {
+        final int[] bounds = splitGuesses(guesses, threads);
+        final List<GuessSearch> result = new ArrayList<GuessSearch>(bounds.length - 1);
+        for (int i = 0; i < bounds.length - 1; i++)
+        {
+            result.add(new GuessSearch(guesses, bounds[i], bounds[i + 1]));
+        }
+        return result;
+    }
+
+    /**
+     * Splits the passed guesses into at most the passed number of contiguous ranges of indexes,
+     * each containing the same number of guesses, give or take one. The guesses are split by rank
+     * rather than by index, since sets such as the canonical guesses are sparse and clustered at
+     * low indexes.
+     * 
+     * @param guesses The guesses to split.
+     * @param parts The maximum number of ranges.
+     * @return The bounds of the ranges, so that range i is from element i inclusive to element
+     * i + 1 exclusive. There are fewer ranges only if there are fewer guesses than ranges.
+     */
+    static int[] splitGuesses(final CodeSet guesses, final int parts)
+    {
+        assert (guesses != null && !guesses.isEmpty() && parts > 0);
+        final int[] indexes = guesses.toArray();
+        final int numParts = Math.min(parts, indexes.length);
+        final int[] result = new int[numParts + 1];
+        for (int i = 0; i < numParts; i++)
+        {
+            result[i] = indexes[(int) ((long) indexes.length * i / numParts)];
+        }
+        result[numParts] = guesses.capacity();
+        return result;
+    }
+
+    /**
+     * Calculates a rating for the passed guess. The calculated rating should be a double value
+     * greater or equal to 0. Usually, the guess with the highest rating is the guess eventually
+     * returned by {@link #makeGuess()}.
+     * 
+     * @param guess The index of the guess for which a rating should be calculated.
+     * @return The rating calculated for the passed guess.
+     */
+    protected abstract double calculateGuessRating(final int guess);
+
+    // @checkstyle:off (Too many parameters)
+    private boolean isBetterGuess(final int guess, final double rating, final int bestGuess,
+        final double maxRating)
+    // @checkstyle:on
+    {
+        boolean result = false;
+        if (rating > maxRating)
+        {
+            result = true;
+        }
+        else if (Math.abs(maxRating - rating) < EPSILON)
+        {
+            result = isPossibleCode(guess) && !isPossibleCode(bestGuess);
+        }
+        return result;
+    }
+
+    private boolean isPossibleCode(final int code)
+    {
+        return possibleCodes.contains(code);
+    }
+
+    @Override
+    public final void putGuessScore(final String guess, final Score score)
+    {
+        assert (mastermind.isValidCode(guess) && mastermind.isValidScore(score));
+        if (rounds == roundGuesses.length)
+        {
+            roundGuesses = Arrays.copyOf(roundGuesses, rounds * 2);
+            roundCodes = Arrays.copyOf(roundCodes, rounds * 2 + 1);
+            roundCanonicalGuesses = Arrays.copyOf(roundCanonicalGuesses, rounds * 2 + 1);
+        }
+        roundGuesses[rounds] = codes.getIndex(guess);
+        possibleCodes = evaluatePossibleCodes(roundGuesses[rounds], score);
+        roundCodes[++rounds] = possibleCodes;
+    }
+
+    @Override
+    public final int getRounds()
+    {
+        return rounds;
+    }
+
+    @Override
+    public final void rewind(final int round)
+    {
+        assert (round >= 0 && round <= rounds);
+        Arrays.fill(roundCodes, round + 1, rounds + 1, null);
+        Arrays.fill(roundCanonicalGuesses, round + 1, rounds + 1, null);
+        rounds = round;
+        possibleCodes = roundCodes[round];
+    }
+
+    /**
+     * A search for the best guess among the passed guesses in a contiguous range of indexes. If
+     * there is a time limit, the guesses which are possible codes are rated first, as they are
+     * likely to be good and are preferred among guesses with the same rating. The ratings are then
+     * compared in index order, so a completed search yields exactly the same best guess as a
+     * search without a time limit.
+     */
+    private final class GuessSearch implements Callable<GuessSearch>
+    {
+        private final transient CodeSet guesses;
+        private final transient int from;
+        private final transient int to;
+        private transient int bestGuess;
+        private transient double maxRating;
+        private transient boolean complete = true;
+
+        GuessSearch(final CodeSet guesses, final int from, final int to)
+        {
+            this.guesses = guesses;
+            this.from = from;
+            this.to = to;
+            this.bestGuess = possibleCodes.first();
+            this.maxRating = 0.0;
+        }
+
+        @Override
+        public GuessSearch call()
+        {
+            if (timed)
+            {
+                searchUntilDeadline();
+            }
+            else
+            {
+                search();
+            }
+            return this;
+        }
+
+        private void search()
+        {
+            int guess = guesses.next(from);
+            while (guess >= 0 && guess < to)
+            {
+                update(guess, calculateGuessRating(guess));
+                guess = guesses.next(guess + 1);
+            }
+        }
+
+        private void searchUntilDeadline()
+        {
+            final double[] ratings = new double[to - from];
+            Arrays.fill(ratings, Double.NaN);
+            rate(ratings, true);
+            rate(ratings, false);
+            int guess = guesses.next(from);
+            while (guess >= 0 && guess < to)
+            {
+                if (!Double.isNaN(ratings[guess - from]))
+                {
+                    update(guess, ratings[guess - from]);
+                }
+                guess = guesses.next(guess + 1);
+            }
+        }
+
+        private void rate(final double[] ratings, final boolean possible)
+        {
+            int guess = guesses.next(from);
+            while (guess >= 0 && guess < to && complete)
+            {
+                if (isPossibleCode(guess) == possible)
+                {
+                    if (isExpired())
+                    {
+                        complete = false;
+                    }
+                    else
+                    {
+                        ratings[guess - from] = calculateGuessRating(guess);
+                    }
+                }
+                guess = guesses.next(guess + 1);
+            }
+        }
+
+        void update(final int guess, final double rating)
+        {
+            if (isBetterGuess(guess, rating, bestGuess, maxRating))
+            {
+                bestGuess = guess;
+                maxRating = Math.max(maxRating, rating);
+            }
+        }
+    }
+}
@@ -1,45 +1,93 @@
-/*
- * $Id: $
- *
- * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- * 
- *     http://www.apache.org/licenses/LICENSE-2.0
- * 
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-package com.stoyanr.mastermind;
-
-/**
- * Interface to be implemented by strategy implementations. This interface has two methods, one for
- * making a guess, and another for accepting a score for the guess. During a game, these methods are
- * invoked repeatedly until a correct guess is made, or until the max number of guesses is reached.
- * 
- * @author Stoyan Rachev
- */
-public interface Algorithm
-{
-    /**
-     * Makes a next guess based on the implemented strategy. Should take into account the scores
-     * assigned to all previously made guesses.
-     * 
-     * @return The guess made by the algorithm.
-     */
-    String makeGuess();
-
-    /**
-     * Accepts a score for the last guess returned by {@link #makeGuess()}.
-     * 
-     * @param guess The guess which is rated with the passed score. Normally, this should be the
-     * last guess returned by {@link #makeGuess()}.
-     * @param score The score assigned to the passed guess.
-     */
-    void putGuessScore(final String guess, final Score score);
-}
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+/**
+ * Interface to be implemented by strategy implementations. This interface has two main methods, one
+ * for making a guess, and another for accepting a score for the guess. During a game, these methods
+ * are invoked repeatedly until a correct guess is made, or until the max number of guesses is
+ * reached.
+ * 
+ * <p>
+ * Each accepted score completes a game round. An algorithm can be rewound to an earlier round with
+ * {@link #rewind(int)}, which forgets all guesses and scores accepted since then. This allows a
+ * single instance to explore a whole decision tree, as done by {@link GuessCalculator} and
+ * {@link StrategyCompiler}.
+ * 
+ * <p>
+ * For interactive games, guesses can be made within a time limit with {@link #makeGuess(long)},
+ * which trades the quality of the guess for a guaranteed response time.
+ * 
+ * @author Stoyan Rachev
+ */
+public interface Algorithm
+{
+    /**
+     * Makes a next guess based on the implemented strategy. Should take into account the scores
+     * assigned to all previously made guesses.
+     * 
+     * @return The guess made by the algorithm.
+     */
+    String makeGuess();
+
+    /**
+     * Makes a next guess like {@link #makeGuess()}, but returns within approximately the specified
+     * time. If the search for the best guess takes longer, it is stopped and the best guess found
+     * so far is returned. Whether the search was completed can be checked afterwards with
+     * {@link #isGuessComplete()}.
+     * 
+     * @param timeout The max time to search for the guess, in milliseconds.
+     * @return The guess made by the algorithm.
+     */
+    String makeGuess(final long timeout);
+
+    /**
+     * Returns whether the search for the guess last returned by {@link #makeGuess()} or
+     * {@link #makeGuess(long)} was completed. If it was, the guess is the same as the one which
+     * would have been made without a time limit.
+     * 
+     * @return true if the search was completed, false if it was stopped because of a timeout.
+     */
+    boolean isGuessComplete();
+
+    /**
+     * Accepts a score for the last guess returned by {@link #makeGuess()}.
+     * 
+     * @param guess The guess which is rated with the passed score. Normally, this should be the
+     * last guess returned by {@link #makeGuess()}.
+     * @param score The score assigned to the passed guess.
+     */
+    void putGuessScore(final String guess, final Score score);
+
+    /**
+     * Returns the number of rounds played so far, that is the number of scores accepted by
+     * {@link #putGuessScore(String, Score)} since the algorithm was created or last rewound.
+     * 
+     * @return The number of rounds played so far.
+     */
+    int getRounds();
+
+    /**
+     * Rewinds the algorithm to the specified round, forgetting all guesses and scores accepted
+     * after it. After this method returns, the algorithm behaves exactly as if only the first
+     * <code>round</code> scores have been accepted.
+     * 
+     * @param round The round to rewind to, between 0 and {@link #getRounds()}.
+     */
+    void rewind(final int round);
+}
@@ -1,198 +1,406 @@
-/*
- * $Id: $
- *
- * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- * 
- *     http://www.apache.org/licenses/LICENSE-2.0
- * 
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-package com.stoyanr.mastermind;
-
-import static com.stoyanr.util.Logger.debug;
-import static com.stoyanr.util.Logger.info;
-
-/**
- * An evaluator of the effectiveness of the different strategies. It is initialized with a
- * {@link Mastermind} instance (game setup), and an {@link AlgorithmFactory}. To perform an
- * evaluation, call the {@link #evaluate()} method of the evaluator. The remaining methods of this
- * class should be invoked only after the evaluation is complete to determine the various statistics
- * produced by the evaluation, among them the average rounds played which is the main characteristic
- * used to measure the strategy effectiveness. An evaluation can be performed only once.
- * 
- * <p>
- * Performing an evaluation requires playing all possible games for a given game setup. This is
- * computationally hard and can take a lot of time, especially for larger alphabets and combination
- * lengths. To alleviate this issue, an instance of the {@link GuessCalculator} class is created
- * upon construction and used during the evaluation.
- * 
- * @author Stoyan Rachev
- */
-public class AlgorithmEvaluator
-{
-    public static final int MAX_ROUNDS = 10;
-
-    private final transient Mastermind mastermind;
-    private final transient AlgorithmFactory factory;
-    private final transient GuessCalculator calc;
-
-    private transient int totalRoundsPlayed = 0;
-    private transient int maxRoundsPlayed = 0;
-    private transient int gamesPlayed = 0;
-    private transient int gamesWon = 0;
-
-    /**
-     * Creates a new evaluator for the specified setup and algorithm.
-     * 
-     * @param mastermind The game setup to use.
-     * @param factory The algorithm factory used to produce multiple instances of the algorithm
-     * being evaluated.
-     * @param levels The number of levels passed to the {@link GuessCalculator} constructor.
-     */
-    public AlgorithmEvaluator(final Mastermind mastermind, final AlgorithmFactory factory,
-        final int levels)
-    {
-        assert (mastermind != null && factory != null);
-        this.mastermind = mastermind;
-        this.factory = factory;
-        this.calc = new GuessCalculator(mastermind, factory, levels);
-    }
-
-    /**
-     * Evaluates the strategy effectiveness. This method delegates to
-     * {@link Mastermind#visitCodes(CodeVisitor)} by passing a special visitor which plays a game
-     * for each visited code. Finally, it prints the evaluation statistics.
-     */
-    public final void evaluate()
-    {
-        mastermind.visitCodes(new GamesVisitor());
-        printInfo();
-    }
-
-    class GamesVisitor implements CodeVisitor
-    {
-        @Override
-        public void visit(final String code)
-        {
-            assert mastermind.isValidCode(code);
-            debug("Code: " + code);
-            final Player player = new DefaultPlayer(mastermind, code);
-            final Algorithm algorithm = factory.getAlgorithm();
-            final Game game = new Game(mastermind, algorithm, MAX_ROUNDS, player, calc);
-            final boolean won = game.play();
-            final int roundsPlayed = game.getRoundsPlayed();
-            debugGameWon(won, roundsPlayed);
-            updateStatistics(won, roundsPlayed);
-        }
-
-        private void debugGameWon(final boolean won, final int roundsPlayed)
-        {
-            if (won)
-            {
-                debug("Game won in " + roundsPlayed + " round(s)");
-            }
-            else
-            {
-                debug("Game lost in " + roundsPlayed + " round(s)");
-            }
-        }
-
-        private void updateStatistics(final boolean won, final int roundsPlayed)
-        {
-            totalRoundsPlayed += roundsPlayed;
-            maxRoundsPlayed = Math.max(maxRoundsPlayed, roundsPlayed);
-            gamesPlayed++;
-            if (won)
-            {
-                gamesWon++;
-            }
-        }
-    }
-
-    private void printInfo()
-    {
-        info("Algorithm Evaluation for " + factory.getAlgorithm().getClass());
-        info("===============================================");
-        info("Total Rounds Played: " + totalRoundsPlayed);
-        info("Max Rounds Played: " + maxRoundsPlayed);
-        info("Games Played: " + gamesPlayed);
-        info("Games Won: " + gamesWon);
-        info("Average Rounds Played: " + getAverageRoundsPlayed());
-        info("");
-    }
-
-    /**
-     * Returns the total number of rounds played in all games during the evaluation. Should only be
-     * called after the evaluation is complete, i.e. the {@link #evaluate()} method has finished.
-     * 
-     * @return The total number of rounds played in all games during the evaluation.
-     */
-    public final int getTotalRoundsPlayed()
-    {
-        assert hasFinished();
-        return totalRoundsPlayed;
-    }
-
-    /**
-     * Returns the max number of rounds played in any of the games during the evaluation. Should
-     * only be called after the evaluation is complete, i.e. the {@link #evaluate()} method has
-     * finished.
-     * 
-     * @return The max number of rounds played in any of the games during the evaluation.
-     */
-    public final int getMaxRoundsPlayed()
-    {
-        assert hasFinished();
-        return maxRoundsPlayed;
-    }
-
-    /**
-     * Returns the number of games played during the evaluation. Should only be called after the
-     * evaluation is complete, i.e. the {@link #evaluate()} method has finished.
-     * 
-     * @return The number of games played during the evaluation.
-     */
-    public final int getGamesPlayed()
-    {
-        assert hasFinished();
-        return gamesPlayed;
-    }
-
-    /**
-     * Returns the number of games won during the evaluation. Should only be called after the
-     * evaluation is complete, i.e. the {@link #evaluate()} method has finished.
-     * 
-     * @return The number of games won during the evaluation.
-     */
-    public final int getGamesWon()
-    {
-        assert hasFinished();
-        return gamesWon;
-    }
-
-    /**
-     * Returns the average number of rounds played during the evaluation, which is the total number
-     * of rounds played in all games divided by the number of played games. Should only be called
-     * after the evaluation is complete, i.e. the {@link #evaluate()} method has finished.
-     * 
-     * @return The average number of rounds played during the evaluation.
-     */
-    public final double getAverageRoundsPlayed()
-    {
-        assert hasFinished();
-        return (double) totalRoundsPlayed / (double) gamesPlayed;
-    }
-
-    private boolean hasFinished()
-    {
-        return (gamesPlayed > 0);
-    }
-}
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import static com.stoyanr.util.Logger.debug;
+import static com.stoyanr.util.Logger.info;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An evaluator of the effectiveness of the different strategies. It is initialized with a
+ * {@link Mastermind} instance (game setup), and an {@link AlgorithmFactory}. To perform an
+ * evaluation, call the {@link #evaluate()} method of the evaluator. The remaining methods of this
+ * class should be invoked only after the evaluation is complete to determine the various statistics
+ * produced by the evaluation, among them the average rounds played which is the main characteristic
+ * used to measure the strategy effectiveness. An evaluation can be performed only once.
+ * 
+ * <p>
+ * Performing an evaluation requires playing all possible games for a given game setup. This is
+ * computationally hard and can take a lot of time, especially for larger alphabets and combination
+ * lengths. To alleviate this issue, an instance of the {@link GuessCalculator} class is created
+ * upon construction and used during the evaluation.
+ * 
+ * <p>
+ * If more than one thread is configured via {@link #setThreads(int)}, the games are played
+ * concurrently by the {@link Workers}. Each worker repeatedly takes the next code which has not
+ * been played yet, plays a game for it with its own algorithm instance, and collects its own
+ * statistics. The guess calculator is shared by all workers, as it is either read-only after
+ * construction or lazy and thread-safe.
+ * The statistics of all workers are merged when all games have been played, so the results are the
+ * same as in the sequential mode.
+ * 
+ * <p>
+ * If the tree walk mode is enabled via {@link #setTreeWalk(boolean)}, no games are played at all.
+ * Instead, the decision tree of the algorithm is walked once, as in {@link StrategyCompiler}. At
+ * each node, the codes that are still possible are partitioned by their scores against the guess
+ * made at this node, and the statistics are updated with the sizes of the parts: the code in the
+ * winning part (if any) is won at the depth of the node, and all codes still possible at the last
+ * round are lost. This way the algorithm makes each guess only once, instead of once for each
+ * code for which a game reaches it, and the results are the same as when playing all games. This
+ * mode is only suitable for algorithms whose guesses depend only on the guesses and scores made so
+ * far, which is the case for all algorithms except the ones sampling with a shared random
+ * generator. The tree is always walked by the calling thread.
+ * 
+ * @author Stoyan Rachev
+ */
+public class AlgorithmEvaluator
+{
+    public static final int MAX_ROUNDS = 10;
+
+    private final transient Mastermind mastermind;
+    private final transient AlgorithmFactory factory;
+    private final transient GuessCalculator calc;
+
+    private transient Statistics stats = new Statistics();
+    private transient int threads = 1;
+    private transient boolean treeWalk = false;
+
+    /**
+     * Creates a new evaluator for the specified setup and algorithm.
+     * 
+     * @param mastermind The game setup to use.
+     * @param factory The algorithm factory used to produce multiple instances of the algorithm
+     * being evaluated.
+     * @param levels The number of levels passed to the {@link GuessCalculator} constructor.
+     */
+    public AlgorithmEvaluator(final Mastermind mastermind, final AlgorithmFactory factory,
+        final int levels)
+    {
+        this(mastermind, factory, new GuessCalculator(mastermind, factory, levels));
+    }
+
+    /**
+     * Creates a new evaluator for the specified setup and algorithm, using the specified guess
+     * calculator, for example one obtained from a {@link GuessCalculatorCache}.
+     * 
+     * @param mastermind The game setup to use.
+     * @param factory The algorithm factory used to produce multiple instances of the algorithm
+     * being evaluated.
+     * @param calc The guess calculator to use, created for the same game setup and algorithm.
+     */
+    public AlgorithmEvaluator(final Mastermind mastermind, final AlgorithmFactory factory,
+        final GuessCalculator calc)
+    {
+        assert (mastermind != null && factory != null && calc != null);
+        this.mastermind = mastermind;
+        this.factory = factory;
+        this.calc = calc;
+    }
+
+    /**
+     * Sets the number of threads used to play the games. The default is 1, meaning that all games
+     * are played sequentially by the calling thread.
+     * 
+     * @param threads The number of threads, at least 1.
+     */
+    public final void setThreads(final int threads)
+    {
+        assert (threads > 0);
+        this.threads = threads;
+    }
+
+    /**
+     * Sets whether the statistics are computed by walking the decision tree of the algorithm
+     * instead of playing all games. The default is false.
+     * 
+     * @param treeWalk true if the decision tree should be walked, false otherwise.
+     */
+    public final void setTreeWalk(final boolean treeWalk)
+    {
+        this.treeWalk = treeWalk;
+    }
+
+    /**
+     * Evaluates the strategy effectiveness. In the sequential mode, this method delegates to
+     * {@link Mastermind#visitCodes(CodeVisitor)} by passing a special visitor which plays a game
+     * for each visited code. Finally, it prints the evaluation statistics.
+     */
+    public final void evaluate()
+    {
+        if (treeWalk)
+        {
+            stats = new TreeWalk().walk();
+        }
+        else if (threads > 1)
+        {
+            evaluateConcurrently();
+        }
+        else
+        {
+            mastermind.visitCodes(new GamesVisitor());
+        }
+        printInfo();
+    }
+
+    private void evaluateConcurrently()
+    {
+        final AtomicInteger next = new AtomicInteger();
+        final List<GamesTask> tasks = new ArrayList<GamesTask>(threads);
+        for (int i = 0; i < threads; i++)
+        {
+            tasks.add(new GamesTask(next));
+        }
+        final Statistics result = new Statistics();
+        for (final Statistics statsx : Workers.invokeAll(tasks))
+        {
+            result.merge(statsx);
+        }
+        stats = result;
+    }
+
+    private void playGame(final String code, final Statistics statsx)
+    {
+        assert mastermind.isValidCode(code);
+        debug("Code: " + code);
+        final Player player = new DefaultPlayer(mastermind, code);
+        final Algorithm algorithm = factory.getAlgorithm();
+        final Game game = new Game(mastermind, algorithm, MAX_ROUNDS, player, calc);
+        final boolean won = game.play();
+        final int roundsPlayed = game.getRoundsPlayed();
+        debugGameWon(won, roundsPlayed);
+        statsx.update(won, roundsPlayed);
+    }
+
+    private static void debugGameWon(final boolean won, final int roundsPlayed)
+    {
+        if (won)
+        {
+            debug("Game won in " + roundsPlayed + " round(s)");
+        }
+        else
+        {
+            debug("Game lost in " + roundsPlayed + " round(s)");
+        }
+    }
+
+    class GamesVisitor implements CodeVisitor
+    {
+        @Override
+        public void visit(final String code)
+        {
+            playGame(code, stats);
+        }
+    }
+
+    class GamesTask implements Callable<Statistics>
+    {
+        private final transient AtomicInteger next;
+        private final transient Statistics statsx = new Statistics();
+
+        GamesTask(final AtomicInteger next)
+        {
+            this.next = next;
+        }
+
+        @Override
+        public Statistics call()
+        {
+            final CodeTable codes = mastermind.getCodes();
+            for (int i = next.getAndIncrement(); i < codes.size(); i = next.getAndIncrement())
+            {
+                playGame(codes.getCode(i), statsx);
+            }
+            return statsx;
+        }
+    }
+
+    class TreeWalk
+    {
+        private final transient CodeTable codes = mastermind.getCodes();
+        private final transient List<Score> allScores = mastermind.getAllPossibleScores();
+        private final transient int winningScore = mastermind.getScoreIndex(mastermind
+            .getWinningScore());
+        private final transient int[] scores = new int[MAX_ROUNDS];
+        private final transient Statistics statsx = new Statistics();
+
+        private transient Algorithm algorithm;
+
+        Statistics walk()
+        {
+            algorithm = factory.getAlgorithm();
+            walkNode(mastermind.getAllCodes(), 0);
+            return statsx;
+        }
+
+        private void walkNode(final CodeSet possibleCodes, final int depth)
+        {
+            assert (algorithm.getRounds() == depth);
+            final String guess = makeGuess(depth);
+            final CodeSet[] parts = mastermind.evaluatePartition(codes.getIndex(guess),
+                possibleCodes);
+            statsx.update(true, depth + 1, parts[winningScore].size());
+            for (int i = 0; i < allScores.size(); i++)
+            {
+                if (i != winningScore && !parts[i].isEmpty())
+                {
+                    if (depth < MAX_ROUNDS - 1)
+                    {
+                        algorithm.putGuessScore(guess, allScores.get(i));
+                        scores[depth] = i;
+                        walkNode(parts[i], depth + 1);
+                        algorithm.rewind(depth);
+                    }
+                    else
+                    {
+                        statsx.update(false, MAX_ROUNDS, parts[i].size());
+                    }
+                }
+            }
+        }
+
+        private String makeGuess(final int depth)
+        {
+            String guess;
+            if (calc.hasGuesses(depth))
+            {
+                final int index = calc.getGuessIndex(scores, depth);
+                guess = (index != GuessTrie.NONE) ? codes.getCode(index) : "";
+            }
+            else
+            {
+                guess = algorithm.makeGuess();
+            }
+            if (guess.isEmpty())
+            {
+                throw new MastermindException();
+            }
+            return guess;
+        }
+    }
+
+    /**
+     * The statistics collected by a single thread.
+     */
+    private static final class Statistics
+    {
+        private transient int totalRoundsPlayed = 0;
+        private transient int maxRoundsPlayed = 0;
+        private transient int gamesPlayed = 0;
+        private transient int gamesWon = 0;
+
+        void update(final boolean won, final int roundsPlayed)
+        {
+            update(won, roundsPlayed, 1);
+        }
+
+        void update(final boolean won, final int roundsPlayed, final int games)
+        {
+            if (games > 0)
+            {
+                totalRoundsPlayed += roundsPlayed * games;
+                maxRoundsPlayed = Math.max(maxRoundsPlayed, roundsPlayed);
+                gamesPlayed += games;
+                if (won)
+                {
+                    gamesWon += games;
+                }
+            }
+        }
+
+        void merge(final Statistics other)
+        {
+            totalRoundsPlayed += other.totalRoundsPlayed;
+            maxRoundsPlayed = Math.max(maxRoundsPlayed, other.maxRoundsPlayed);
+            gamesPlayed += other.gamesPlayed;
+            gamesWon += other.gamesWon;
+        }
+    }
+
+    private void printInfo()
+    {
+        info("Algorithm Evaluation for " + factory.getAlgorithm().getClass());
+        info("===============================================");
+        info("Total Rounds Played: " + stats.totalRoundsPlayed);
+        info("Max Rounds Played: " + stats.maxRoundsPlayed);
+        info("Games Played: " + stats.gamesPlayed);
+        info("Games Won: " + stats.gamesWon);
+        info("Average Rounds Played: " + getAverageRoundsPlayed());
+        info("");
+    }
+
+    /**
+     * Returns the total number of rounds played in all games during the evaluation. Should only be
+     * called after the evaluation is complete, i.e. the {@link #evaluate()} method has finished.
+     * 
+     * @return The total number of rounds played in all games during the evaluation.
+     */
+    public final int getTotalRoundsPlayed()
+    {
+        assert hasFinished();
+        return stats.totalRoundsPlayed;
+    }
+
+    /**
+     * Returns the max number of rounds played in any of the games during the evaluation. Should
+     * only be called after the evaluation is complete, i.e. the {@link #evaluate()} method has
+     * finished.
+     * 
+     * @return The max number of rounds played in any of the games during the evaluation.
+     */
+    public final int getMaxRoundsPlayed()
+    {
+        assert hasFinished();
+        return stats.maxRoundsPlayed;
+    }
+
+    /**
+     * Returns the number of games played during the evaluation. Should only be called after the
+     * evaluation is complete, i.e. the {@link #evaluate()} method has finished.
+     * 
+     * @return The number of games played during the evaluation.
+     */
+    public final int getGamesPlayed()
+    {
+        assert hasFinished();
+        return stats.gamesPlayed;
+    }
+
+    /**
+     * Returns the number of games won during the evaluation. Should only be called after the
+     * evaluation is complete, i.e. the {@link #evaluate()} method has finished.
+     * 
+     * @return The number of games won during the evaluation.
+     */
+    public final int getGamesWon()
+    {
+        assert hasFinished();
+        return stats.gamesWon;
+    }
+
+    /**
+     * Returns the average number of rounds played during the evaluation, which is the total number
+     * of rounds played in all games divided by the number of played games. Should only be called
+     * after the evaluation is complete, i.e. the {@link #evaluate()} method has finished.
+     * 
+     * @return The average number of rounds played during the evaluation.
+     */
+    public final double getAverageRoundsPlayed()
+    {
+        assert hasFinished();
+        return (double) stats.totalRoundsPlayed / (double) stats.gamesPlayed;
+    }
+
+    private boolean hasFinished()
+    {
+        return (stats.gamesPlayed > 0);
+    }
+}
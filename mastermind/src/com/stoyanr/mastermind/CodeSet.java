@@ -0,0 +1,286 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * An immutable set of code indexes, represented as a bitset with one bit per code in the
+ * {@link CodeTable} of the game setup. Membership tests take constant time, and iterating through
+ * the members in ascending order is done with {@link #first()} and {@link #next(int)}:
+ * 
+ * <pre>
+ * for (int code = set.first(); code &gt;= 0; code = set.next(code + 1))
+ * {
+ *     ...
+ * }
+ * </pre>
+ * 
+ * <p>
+ * Since instances are immutable, they can be shared by any number of algorithms and threads.
+ * 
+ * @author Stoyan Rachev
+ */
+public final class CodeSet
+{
+    private static final int ADDRESS_BITS = 6;
+    private static final int WORD_SIZE = 1 << ADDRESS_BITS;
+    private static final long WORD_MASK = -1L;
+
+    private final transient long[] words;
+    private final transient int capacity;
+    private final transient int size;
+
+    /**
+     * Creates a new code set from the passed words. The set takes ownership of the words array,
+     * which should not be modified afterwards.
+     * 
+     * @param words The words of the bitset, bit <code>i % 64</code> of word <code>i / 64</code>
+     * being set if code <code>i</code> is a member.
+     * @param capacity The number of codes in the code table.
+     */
+    CodeSet(final long[] words, final int capacity)
+    {
+        assert (words != null && words.length == getNumWords(capacity));
+        this.words = words;
+        this.capacity = capacity;
+        this.size = calcSize(words);
+    }
+
+    /**
+     * Returns the set of all codes in a code table with the passed number of codes.
+     * 
+     * @param capacity The number of codes in the code table.
+     * @return The set of all codes.
+     */
+    public static CodeSet all(final int capacity)
+    {
+        assert (capacity >= 0);
+        final long[] words = new long[getNumWords(capacity)];
+        Arrays.fill(words, WORD_MASK);
+        if (capacity % WORD_SIZE != 0)
+        {
+            words[words.length - 1] = WORD_MASK >>> (WORD_SIZE - capacity % WORD_SIZE);
+        }
+        return new CodeSet(words, capacity);
+    }
+
+    static int getNumWords(final int capacity)
+    {
+        return (capacity + WORD_SIZE - 1) >>> ADDRESS_BITS;
+    }
+
+    static int getWordIndex(final int code)
+    {
+        return code >>> ADDRESS_BITS;
+    }
+
+    static long getBit(final int code)
+    {
+        return 1L << code;
+    }
+
+    private static int calcSize(final long[] words)
+    {
+        int result = 0;
+        for (final long word : words)
+        {
+            result += Long.bitCount(word);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of codes in the code table, which is one more than the highest possible
+     * member.
+     * 
+     * @return The number of codes in the code table.
+     */
+    public int capacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of members of this set.
+     * 
+     * @return The number of members.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns true if this set has no members.
+     * 
+     * @return true if the set is empty, false otherwise.
+     */
+    public boolean isEmpty()
+    {
+        return (size == 0);
+    }
+
+    /**
+     * Returns true if the code with the passed index is a member of this set.
+     * 
+     * @param code The code index.
+     * @return true if the code is a member, false otherwise.
+     */
+    public boolean contains(final int code)
+    {
+        assert (code >= 0 && code < capacity);
+        return (words[getWordIndex(code)] & getBit(code)) != 0;
+    }
+
+    /**
+     * Returns the lowest member of this set, or -1 if the set is empty.
+     * 
+     * @return The lowest member, or -1.
+     */
+    public int first()
+    {
+        return next(0);
+    }
+
+    /**
+     * Returns the lowest member of this set which is greater than or equal to the passed index, or
+     * -1 if there is no such member.
+     * 
+     * @param from The index to start from.
+     * @return The next member, or -1.
+     */
+    public int next(final int from)
+    {
+        int result = -1;
+        int index = getWordIndex(from);
+        if (index < words.length)
+        {
+            long word = words[index] & (WORD_MASK << from);
+            while (word == 0 && ++index < words.length)
+            {
+                word = words[index];
+            }
+            if (word != 0)
+            {
+                result = (index << ADDRESS_BITS) + Long.numberOfTrailingZeros(word);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a random sample of the members of this set with the passed size. Each member is
+     * equally likely to be selected, and the same random generator state always produces the same
+     * sample. If the set has no more members than the passed size, the set itself is returned.
+     * 
+     * @param count The size of the sample.
+     * @param random The random generator to use.
+     * @return The sample.
+     */
+    public CodeSet sample(final int count, final Random random)
+    {
+        assert (count >= 0 && random != null);
+        CodeSet result = this;
+        if (size > count)
+        {
+            final long[] wordsx = new long[words.length];
+            int selected = 0, seen = 0;
+            for (int code = first(); selected < count; code = next(code + 1))
+            {
+                if (random.nextInt(size - seen) < count - selected)
+                {
+                    wordsx[getWordIndex(code)] |= getBit(code);
+                    selected++;
+                }
+                seen++;
+            }
+            result = new CodeSet(wordsx, capacity);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the union of this set and the passed set.
+     * 
+     * @param set The set to unite with, having the same capacity as this set.
+     * @return The union of both sets.
+     */
+    public CodeSet union(final CodeSet set)
+    {
+        assert (set != null && set.capacity == capacity);
+        final long[] wordsx = new long[words.length];
+        for (int i = 0; i < words.length; i++)
+        {
+            wordsx[i] = words[i] | set.words[i];
+        }
+        return new CodeSet(wordsx, capacity);
+    }
+
+    /**
+     * Returns the members of this set as an array sorted in ascending order.
+     * 
+     * @return The members of this set.
+     */
+    public int[] toArray()
+    {
+        final int[] result = new int[size];
+        int i = 0;
+        for (int code = first(); code >= 0; code = next(code + 1))
+        {
+            result[i++] = code;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the Zobrist hash of this set for the passed keys, which is the exclusive or of the
+     * keys of all members. With random keys, two different sets have the same hash with a
+     * probability of about 2<sup>-64</sup>.
+     * 
+     * @param keys The random keys of all codes, at least as many as the capacity of this set.
+     * @return The Zobrist hash of this set.
+     */
+    public long hash(final long[] keys)
+    {
+        assert (keys != null && keys.length >= capacity);
+        long result = 0L;
+        for (int i = 0; i < words.length; i++)
+        {
+            for (long word = words[i]; word != 0; word &= word - 1)
+            {
+                result ^= keys[i * WORD_SIZE + Long.numberOfTrailingZeros(word)];
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj)
+    {
+        return (obj instanceof CodeSet) && capacity == ((CodeSet) obj).capacity
+            && Arrays.equals(words, ((CodeSet) obj).words);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Arrays.hashCode(words);
+    }
+}
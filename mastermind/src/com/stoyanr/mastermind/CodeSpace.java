@@ -0,0 +1,325 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import java.util.Arrays;
+
+/**
+ * The virtual, alphabetically ordered space of all valid codes for a particular game setup. Unlike
+ * {@link CodeTable}, the codes are not stored anywhere. Instead, each code is addressed by its
+ * index (or "rank") in the alphabetical order, and the code with a given index is computed on
+ * demand. Therefore, this class can represent setups with many billions of codes, such as the
+ * largest setup with 9 characters out of 18, for which a code table would never fit in memory.
+ * 
+ * <p>
+ * Codes are represented in the same "packed" form as in {@link CodeTable}, so for setups that fit
+ * in a table, the code with a given index in this space is the code with the same index in the
+ * table. Iterating through a range of codes with {@link #visitCodes(long, long, CodeVisitor)}
+ * computes each code from the previous one, so it needs no memory besides the current code.
+ * 
+ * <p>
+ * Once constructed, the space is immutable and can be shared by any number of threads.
+ * 
+ * @author Stoyan Rachev
+ */
+public class CodeSpace
+{
+    private static final int MAX_CHAR = 128;
+
+    private final transient char[] chars;
+    private final transient int[] digits;
+    private final transient int length;
+    private final transient boolean uniqueChars;
+    private final transient long[] weights;
+    private final transient long size;
+
+    /**
+     * Creates a new code space for the specified alphabet, length, and character uniqueness. The
+     * parameters are assumed to be valid, as checked by the {@link Mastermind} constructor.
+     * 
+     * @param alphabet The alphabet of possible code characters.
+     * @param length The combination length.
+     * @param uniqueChars Whether the characters of the combination must be unique or not.
+     */
+    public CodeSpace(final String alphabet, final int length, final boolean uniqueChars)
+    {
+        assert (alphabet != null && length > 0 && alphabet.length() >= length);
+        this.chars = alphabet.toCharArray();
+        Arrays.sort(this.chars);
+        this.digits = calcDigits(chars);
+        this.length = length;
+        this.uniqueChars = uniqueChars;
+        this.weights = calcWeights(chars.length, length, uniqueChars);
+        this.size = weights[0] * chars.length;
+    }
+
+    private static int[] calcDigits(final char[] chars)
+    {
+        final int[] result = new int[MAX_CHAR];
+        Arrays.fill(result, -1);
+        for (int i = 0; i < chars.length; i++)
+        {
+            result[chars[i]] = i;
+        }
+        return result;
+    }
+
+    private static long[] calcWeights(final int numChars, final int length,
+        final boolean uniqueChars)
+    {
+        final long[] result = new long[length];
+        result[length - 1] = 1L;
+        for (int i = length - 2; i >= 0; i--)
+        {
+            result[i] = result[i + 1] * (uniqueChars ? numChars - i - 1 : numChars);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of codes in the space.
+     * 
+     * @return The number of codes in the space.
+     */
+    public final long size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns the number of characters in the alphabet.
+     * 
+     * @return The number of characters in the alphabet.
+     */
+    public final int getNumChars()
+    {
+        return chars.length;
+    }
+
+    /**
+     * Returns the combination length.
+     * 
+     * @return The combination length.
+     */
+    public final int getLength()
+    {
+        return length;
+    }
+
+    /**
+     * Returns whether the characters of the combination must be unique or not.
+     * 
+     * @return true if the characters must be unique, false otherwise.
+     */
+    public final boolean hasUniqueChars()
+    {
+        return uniqueChars;
+    }
+
+    /**
+     * Returns the packed form of the code with the specified index.
+     * 
+     * @param index The code index, in the range [0, {@link #size()}).
+     * @return The packed code.
+     */
+    public final long getPacked(final long index)
+    {
+        assert (index >= 0 && index < size);
+        long result = 0L;
+        long indexx = index;
+        int used = 0;
+        for (int i = 0; i < length; i++)
+        {
+            int digit = (int) (indexx / weights[i]);
+            indexx %= weights[i];
+            if (uniqueChars)
+            {
+                digit = getUnusedDigit(used, digit);
+                used |= 1 << digit;
+            }
+            result = (result << CodeTable.BITS_PER_CHAR) | digit;
+        }
+        return result;
+    }
+
+    private static int getUnusedDigit(final int used, final int rank)
+    {
+        int result = -1;
+        for (int i = 0; i <= rank; i++)
+        {
+            result++;
+            while ((used & (1 << result)) != 0)
+            {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the index of the passed packed code, or -1 if the code is not a valid code.
+     * 
+     * @param packed The packed code to look up.
+     * @return The code index, or -1 if not valid.
+     */
+    public final long getIndex(final long packed)
+    {
+        long result = 0L;
+        int used = 0;
+        for (int i = 0; i < length && result != -1; i++)
+        {
+            final int digit = getDigit(packed, i);
+            if (digit >= chars.length || (uniqueChars && (used & (1 << digit)) != 0))
+            {
+                result = -1;
+            }
+            else
+            {
+                final int rank =
+                    uniqueChars ? Integer.bitCount(~used & ((1 << digit) - 1)) : digit;
+                result += rank * weights[i];
+                used |= 1 << digit;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the string form of the code with the specified index.
+     * 
+     * @param index The code index, in the range [0, {@link #size()}).
+     * @return The code.
+     */
+    public final String getCode(final long index)
+    {
+        return unpack(getPacked(index));
+    }
+
+    /**
+     * Visits the codes with indexes in the specified range, in alphabetical order. These codes are
+     * passed to the <code>visit()</code> method of the passed visitor.
+     * 
+     * @param from The index of the first code to visit, inclusive.
+     * @param to The index of the last code to visit, exclusive.
+     * @param visitor The visitor.
+     */
+    public final void visitCodes(final long from, final long to, final CodeVisitor visitor)
+    {
+        assert (from >= 0 && from <= to && to <= size && visitor != null);
+        if (from < to)
+        {
+            long packed = getPacked(from);
+            visitor.visit(unpack(packed));
+            for (long index = from + 1; index < to; index++)
+            {
+                packed = getNextPacked(packed);
+                visitor.visit(unpack(packed));
+            }
+        }
+    }
+
+    private long getNextPacked(final long packed)
+    {
+        int used = 0;
+        for (int i = 0; i < length; i++)
+        {
+            used |= 1 << getDigit(packed, i);
+        }
+        long result = -1L;
+        for (int i = length - 1; i >= 0 && result == -1L; i--)
+        {
+            final int digit = getDigit(packed, i);
+            used &= ~(1 << digit);
+            final int next = getNextDigit(used, digit + 1);
+            if (next < chars.length)
+            {
+                result = setTail(packed, i, next, used);
+            }
+        }
+        assert (result != -1L);
+        return result;
+    }
+
+    // @checkstyle:off (Too many parameters)
+    private long setTail(final long packed, final int position, final int digit, final int used)
+    // @checkstyle:on
+    {
+        final int shift = (length - position) * CodeTable.BITS_PER_CHAR;
+        long result = ((packed >>> shift) << CodeTable.BITS_PER_CHAR) | digit;
+        int usedx = used | (1 << digit);
+        for (int i = position + 1; i < length; i++)
+        {
+            final int digitx = getNextDigit(usedx, 0);
+            result = (result << CodeTable.BITS_PER_CHAR) | digitx;
+            usedx |= 1 << digitx;
+        }
+        return result;
+    }
+
+    private int getNextDigit(final int used, final int from)
+    {
+        int result = from;
+        while (uniqueChars && result < chars.length && (used & (1 << result)) != 0)
+        {
+            result++;
+        }
+        return result;
+    }
+
+    private int getDigit(final long packed, final int position)
+    {
+        return (int) ((packed >>> ((length - 1 - position) * CodeTable.BITS_PER_CHAR))
+            & CodeTable.CHAR_MASK);
+    }
+
+    /**
+     * Packs the passed code, which is assumed to be of the correct length and to contain only
+     * alphabet characters.
+     * 
+     * @param code The code to pack.
+     * @return The packed code.
+     */
+    public final long pack(final String code)
+    {
+        assert (code != null && code.length() == length);
+        long result = 0L;
+        for (int i = 0; i < length; i++)
+        {
+            result = (result << CodeTable.BITS_PER_CHAR) | digits[code.charAt(i)];
+        }
+        return result;
+    }
+
+    /**
+     * Returns the string form of the passed packed code.
+     * 
+     * @param packed The packed code.
+     * @return The code.
+     */
+    public final String unpack(final long packed)
+    {
+        final char[] result = new char[length];
+        long packedx = packed;
+        for (int i = length - 1; i >= 0; i--)
+        {
+            result[i] = chars[(int) (packedx & CodeTable.CHAR_MASK)];
+            packedx >>>= CodeTable.BITS_PER_CHAR;
+        }
+        return new String(result);
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import java.util.Arrays;
+
+/**
+ * An indexed table of all valid codes for a particular game setup. Each code is identified by its
+ * index in the table, and is stored in a compact "packed" form, a <code>long</code> containing the
+ * positions of the code characters in the sorted alphabet, {@link #BITS_PER_CHAR} bits per
+ * character, the first character taking the most significant bits. Since the codes are enumerated
+ * in alphabetical order, the order of the indexes, the order of the packed codes, and the
+ * alphabetical order of the codes themselves are all the same.
+ * 
+ * <p>
+ * The packed form and the order of the codes are defined by the {@link CodeSpace} of the game
+ * setup, which the table materializes. The engine works with code indexes and packed codes only,
+ * while the string form of the codes is produced on demand by {@link #getCode(int)} and is only
+ * needed at the boundary with players and the command line interface.
+ * 
+ * @author Stoyan Rachev
+ */
+public class CodeTable
+{
+    public static final int BITS_PER_CHAR = 5;
+    public static final long CHAR_MASK = (1L << BITS_PER_CHAR) - 1;
+
+    private final transient CodeSpace space;
+    private final transient int numChars;
+    private final transient int length;
+    private final transient long[] packedCodes;
+    private final transient int[] charMasks;
+
+    /**
+     * Creates a new code table containing all codes of the specified code space. The space is
+     * assumed to contain no more than {@link Integer#MAX_VALUE} codes.
+     * 
+     * @param space The code space to materialize.
+     */
+    public CodeTable(final CodeSpace space)
+    {
+        assert (space != null && space.size() <= Integer.MAX_VALUE);
+        this.space = space;
+        this.numChars = space.getNumChars();
+        this.length = space.getLength();
+        this.packedCodes = new long[(int) space.size()];
+        this.charMasks = new int[packedCodes.length];
+        final int size = initCodes(0, 0L, 0, space.hasUniqueChars(), 0);
+        assert (size == packedCodes.length);
+    }
+
+    // @checkstyle:off (Too many parameters)
+    private int initCodes(final int index, final long packed, final int mask,
+        final boolean uniqueChars, final int count)
+    // @checkstyle:on
+    {
+        int countx = count;
+        for (int i = 0; i < numChars; i++)
+        {
+            final int bit = 1 << i;
+            if (uniqueChars && (mask & bit) != 0)
+            {
+                continue;
+            }
+            final long packedx = (packed << BITS_PER_CHAR) | i;
+            if (index == length - 1)
+            {
+                packedCodes[countx] = packedx;
+                charMasks[countx] = mask | bit;
+                countx++;
+            }
+            else
+            {
+                countx = initCodes(index + 1, packedx, mask | bit, uniqueChars, countx);
+            }
+        }
+        return countx;
+    }
+
+    /**
+     * Returns the number of codes in the table.
+     * 
+     * @return The number of codes in the table.
+     */
+    public final int size()
+    {
+        return packedCodes.length;
+    }
+
+    /**
+     * Returns the packed form of the code with the specified index.
+     * 
+     * @param index The code index.
+     * @return The packed code.
+     */
+    public final long getPacked(final int index)
+    {
+        return packedCodes[index];
+    }
+
+    /**
+     * Returns a bit mask of the characters contained in the code with the specified index. Bit
+     * <code>i</code> of the mask is set if the code contains the i-th character of the sorted
+     * alphabet.
+     * 
+     * @param index The code index.
+     * @return The character mask of the code.
+     */
+    public final int getCharMask(final int index)
+    {
+        return charMasks[index];
+    }
+
+    /**
+     * Returns the string form of the code with the specified index.
+     * 
+     * @param index The code index.
+     * @return The code.
+     */
+    public final String getCode(final int index)
+    {
+        return unpack(packedCodes[index]);
+    }
+
+    /**
+     * Returns the index of the passed code, or -1 if the code is not in the table.
+     * 
+     * @param code The code to look up, assumed to be of the correct length and to contain only
+     * alphabet characters.
+     * @return The code index, or -1 if not found.
+     */
+    public final int getIndex(final String code)
+    {
+        return getIndex(pack(code));
+    }
+
+    /**
+     * Returns the index of the passed packed code, or -1 if the code is not in the table.
+     * 
+     * @param packed The packed code to look up.
+     * @return The code index, or -1 if not found.
+     */
+    public final int getIndex(final long packed)
+    {
+        final int index = Arrays.binarySearch(packedCodes, packed);
+        return (index >= 0) ? index : -1;
+    }
+
+    /**
+     * Packs the passed code, which is assumed to be of the correct length and to contain only
+     * alphabet characters.
+     * 
+     * @param code The code to pack.
+     * @return The packed code.
+     */
+    public final long pack(final String code)
+    {
+        return space.pack(code);
+    }
+
+    /**
+     * Returns the string form of the passed packed code.
+     * 
+     * @param packed The packed code.
+     * @return The code.
+     */
+    public final String unpack(final long packed)
+    {
+        return space.unpack(packed);
+    }
+}
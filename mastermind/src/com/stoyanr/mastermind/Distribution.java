@@ -1,110 +1,134 @@
-/*
- * $Id: $
- *
- * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- * 
- *     http://www.apache.org/licenses/LICENSE-2.0
- * 
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-package com.stoyanr.mastermind;
-
-import java.util.SortedMap;
-import java.util.TreeMap;
-
-/**
- * A distribution, or data set, of integer values. Provides methods for adding numbers and
- * calculating various parameters, such as mean, standard deviation, and n-th percentile.
- * 
- * @author Stoyan Rachev
- */
-public class Distribution
-{
-    private static final double PERCENTS_100 = 100.0;
-
-    private final transient SortedMap<Integer, Integer> numbers = new TreeMap<Integer, Integer>();
-
-    private transient int size = 0;
-
-    /**
-     * Adds a number to the data set.
-     * 
-     * @param number The number to be added.
-     */
-    public final void add(final int number)
-    {
-        final Integer value = numbers.get(number);
-        if (value == null)
-        {
-            numbers.put(number, 1);
-        }
-        else
-        {
-            numbers.put(number, value.intValue() + 1);
-        }
-        size++;
-    }
-
-    /**
-     * Calculates the mean of the data set.
-     * 
-     * @return The calculated mean.
-     */
-    public final double calculateMean()
-    {
-        double sum = 0;
-        for (final int key : numbers.keySet())
-        {
-            sum += key * numbers.get(key);
-        }
-        return (sum / size);
-    }
-
-    /**
-     * Calculates the standard deviation of the data set.
-     * 
-     * @return The calculated standard deviation.
-     */
-    public final double calculateStandardDeviation()
-    {
-        final double mean = calculateMean();
-        double sum = 0;
-        for (final int key : numbers.keySet())
-        {
-            final double diff = key - mean;
-            sum += (diff * diff) * numbers.get(key);
-        }
-        return Math.sqrt(sum / size);
-    }
-
-    /**
-     * Calculates the n-th percentile of the data set.
-     * 
-     * @param percents The value of "n".
-     * @return The calculated percentile.
-     */
-    public final int calculatePercentile(final double percents)
-    {
-        assert (percents >= 0);
-        int result = numbers.lastKey();
-        int num = 0;
-        for (final int key : numbers.keySet())
-        {
-            num += numbers.get(key);
-            if (((double) num / (double) size) * PERCENTS_100 > percents)
-            {
-                result = key;
-                break;
-            }
-        }
-        return result;
-    }
-}
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * A distribution, or data set, of integer values. Provides methods for adding numbers and
+ * calculating various parameters, such as mean, standard deviation, and n-th percentile.
+ * 
+ * @author Stoyan Rachev
+ */
+public class Distribution
+{
+    private static final double PERCENTS_100 = 100.0;
+
+    private final transient SortedMap<Integer, Integer> numbers = new TreeMap<Integer, Integer>();
+
+    private transient int size = 0;
+
+    /**
+     * Adds a number to the data set.
+     * 
+     * @param number The number to be added.
+     */
+    public final void add(final int number)
+    {
+        final Integer value = numbers.get(number);
+        if (value == null)
+        {
+            numbers.put(number, 1);
+        }
+        else
+        {
+            numbers.put(number, value.intValue() + 1);
+        }
+        size++;
+    }
+
+    /**
+     * Calculates the mean of the data set.
+     * 
+     * @return The calculated mean.
+     */
+    public final double calculateMean()
+    {
+        double sum = 0;
+        for (final int key : numbers.keySet())
+        {
+            sum += key * numbers.get(key);
+        }
+        return (sum / size);
+    }
+
+    /**
+     * Calculates the standard deviation of the data set.
+     * 
+     * @return The calculated standard deviation.
+     */
+    public final double calculateStandardDeviation()
+    {
+        final double mean = calculateMean();
+        double sum = 0;
+        for (final int key : numbers.keySet())
+        {
+            final double diff = key - mean;
+            sum += (diff * diff) * numbers.get(key);
+        }
+        return Math.sqrt(sum / size);
+    }
+
+    /**
+     * Calculates the n-th percentile of the data set.
+     * 
+     * @param percents The value of "n".
+     * @return The calculated percentile.
+     */
+    public final int calculatePercentile(final double percents)
+    {
+        assert (percents >= 0);
+        int result = numbers.lastKey();
+        int num = 0;
+        for (final int key : numbers.keySet())
+        {
+            num += numbers.get(key);
+            if (((double) num / (double) size) * PERCENTS_100 > percents)
+            {
+                result = key;
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Calculates the n-th percentile of the passed data set, which should be sorted in ascending
+     * order. The result is the same as the one of {@link #calculatePercentile(double)} for a
+     * distribution containing the same numbers, but no objects are created.
+     * 
+     * @param numbers The data set, sorted in ascending order.
+     * @param percents The value of "n".
+     * @return The calculated percentile.
+     */
+    public static int calculatePercentile(final int[] numbers, final double percents)
+    {
+        assert (numbers.length > 0 && percents >= 0);
+        int result = numbers[numbers.length - 1];
+        for (int i = 0; i < numbers.length; i++)
+        {
+            if (((double) (i + 1) / (double) numbers.length) * PERCENTS_100 > percents)
+            {
+                result = numbers[i];
+                break;
+            }
+        }
+        return result;
+    }
+}
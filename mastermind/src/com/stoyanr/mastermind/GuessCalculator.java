@@ -1,238 +1,776 @@
-/*
- * $Id: $
- *
- * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- * 
- *     http://www.apache.org/licenses/LICENSE-2.0
- * 
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-package com.stoyanr.mastermind;
-
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
-/**
- * A performance optimization facility which calculates and stores the guesses made by a particular
- * algorithm for a given game setup, for up to a predefined number of game rounds (or "levels").
- * 
- * @author Stoyan Rachev
- */
-public class GuessCalculator
-{
-    private final transient Mastermind mastermind;
-    private final transient AlgorithmFactory factory;
-    private final transient int levels;
-
-    private final transient List<Score> allScores;
-    private final transient Object[] objects;
-    private final transient String[] guesses;
-
-    /**
-     * Creates a new guess calculator for the specified game setup, algorithm, and levels. This
-     * constructor performs the computationally hard guesses initialization, so that subsequent
-     * method invocations are very fast.
-     * 
-     * @param mastermind The game setup to use.
-     * @param factory The algorithm factory used to produce multiple instances of the algorithm
-     * being evaluated.
-     * @param levels The number of game rounds to calculate and store guesses for.
-     */
-    public GuessCalculator(final Mastermind mastermind, final AlgorithmFactory factory,
-        final int levels)
-    {
-        assert (mastermind != null && factory != null && levels > 0);
-        this.mastermind = mastermind;
-        this.factory = factory;
-        this.levels = levels;
-        this.allScores = mastermind.getAllPossibleScores();
-        this.objects = new Object[levels];
-        this.guesses = new String[levels];
-        initGuesses();
-    }
-
-    private void initGuesses()
-    {
-        for (int i = 0; i < levels; i++)
-        {
-            initGuesses(new ArrayList<Score>(), i, 0);
-        }
-    }
-
-    private void initGuesses(final List<Score> scores, final int level, final int depth)
-    {
-        if (depth == level)
-        {
-            makeAndAddGuess(scores, level);
-        }
-        else
-        {
-            for (final Score score : allScores)
-            {
-                final List<Score> scoresx = makeScores(scores, score);
-                final boolean canMakeGuess =
-                    ((depth < level - 1) ? hasGuess(scoresx, depth + 1) : true);
-                if (isNotWinningScore(score) && canMakeGuess)
-                {
-                    initGuesses(scoresx, level, depth + 1);
-                }
-            }
-        }
-    }
-
-    private void makeAndAddGuess(final List<Score> scores, final int level)
-    {
-        final String guess = makeGuess(scores, level);
-        if (!guess.isEmpty())
-        {
-            addGuess(scores, level, guess);
-        }
-    }
-
-    private String makeGuess(final List<Score> scores, final int level)
-    {
-        final Algorithm algorithm = factory.getAlgorithm();
-        for (int i = 0; i < level; i++)
-        {
-            final String guess = (i == 0) ? (String) objects[i] : guesses[i];
-            algorithm.putGuessScore(guess, scores.get(i));
-        }
-        return algorithm.makeGuess();
-    }
-
-    private void addGuess(final List<Score> scores, final int level, final String guess)
-    {
-        assert (level < levels);
-        if (level == 0)
-        {
-            objects[level] = guess;
-        }
-        else
-        {
-            final Map<Score, Object> map = getFirstMap(level);
-            addGuessToMap(scores, level, guess, map, 0);
-        }
-    }
-
-    @SuppressWarnings("unchecked")
-    private Map<Score, Object> getFirstMap(final int level)
-    {
-        Map<Score, Object> map = (Map<Score, Object>) objects[level];
-        if (map == null)
-        {
-            map = new HashMap<Score, Object>();
-            objects[level] = map;
-        }
-        return map;
-    }
-
-    // @checkstyle:off (Too many parameters)
-    private void addGuessToMap(final List<Score> scores, final int level, final String guess,
-        final Map<Score, Object> map, final int depth)
-    // @checkstyle:on
-    {
-        final Score score = scores.get(depth);
-        if (depth == level - 1)
-        {
-            map.put(score, guess);
-        }
-        else
-        {
-            final Map<Score, Object> mapx = getNextMap(map, score);
-            addGuessToMap(scores, level, guess, mapx, depth + 1);
-        }
-    }
-
-    @SuppressWarnings("unchecked")
-    private Map<Score, Object> getNextMap(final Map<Score, Object> map, final Score score)
-    {
-        Map<Score, Object> mapx = (Map<Score, Object>) map.get(score);
-        if (mapx == null)
-        {
-            mapx = new HashMap<Score, Object>();
-            map.put(score, mapx);
-        }
-        return mapx;
-    }
-
-    private List<Score> makeScores(final List<Score> scores, final Score score)
-    {
-        final List<Score> result = new ArrayList<Score>(scores.size() + 1);
-        result.addAll(scores);
-        result.add(score);
-        return result;
-    }
-
-    private boolean hasGuess(final List<Score> scores, final int level)
-    {
-        guesses[level] = getGuess(scores, level);
-        return (!guesses[level].isEmpty());
-    }
-
-    private boolean isNotWinningScore(final Score score)
-    {
-        return !score.equals(mastermind.getWinningScore());
-    }
-
-    /**
-     * Returns true if the calculator has precalculated guesses for the specified level (game
-     * round), which is the case if this level is lower than the calculator levels.
-     * 
-     * @param level The level to check.
-     * @return true if the calculator has precalculated guesses for the specified level, false
-     * otherwise.
-     */
-    public final boolean hasGuesses(final int level)
-    {
-        assert (level >= 0);
-        return (level < levels);
-    }
-
-    /**
-     * Returns the precalculated guess for the specified level and previously produced scores.
-     * 
-     * @param scores A list of scores produced during the previous game rounds.
-     * @param level The level for which to return the precalculated guess.
-     * @return The precalculated guess for the specified level and scores.
-     */
-    public final String getGuess(final List<Score> scores, final int level)
-    {
-        assert hasGuesses(level);
-        assert (level > 0) ? (scores != null && !scores.isEmpty()) : true;
-        return getGuess(scores, level, objects[level], 0);
-    }
-
-    @SuppressWarnings("unchecked")
-    // @checkstyle:off (Too many parameters)
-    private String getGuess(final List<Score> scores, final int level, final Object obj,
-        final int depth)
-    // @checkstyle:on
-    {
-        String result = "";
-        if (depth == level)
-        {
-            result = (String) obj;
-        }
-        else
-        {
-            final Map<Score, Object> map = (Map<Score, Object>) obj;
-            final Object objx = map.get(scores.get(depth));
-            if (objx != null)
-            {
-                result = getGuess(scores, level, objx, depth + 1);
-            }
-        }
-        return result;
-    }
-
-}
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A performance optimization facility which calculates and stores the guesses made by a particular
+ * algorithm for a given game setup, for up to a predefined number of game rounds (or "levels").
+ * The guesses are stored in a {@link GuessTrie} keyed by the indexes of the scores leading to them,
+ * and can be looked up without allocating any objects with {@link #getGuessIndex(int[], int)}.
+ * 
+ * <p>
+ * All guesses of an eager calculator are calculated by a single algorithm instance. Before each
+ * guess, the algorithm is rewound to the last round shared with the previous guess, and only the
+ * remaining rounds are replayed. If more than one thread is passed upon construction, the first
+ * guess is made as usual, and the guesses after each score it may get are then calculated in
+ * parallel by the {@link Workers}. Each worker repeatedly takes the next score which has not been
+ * taken yet, and calculates all guesses after it into its own copy of the guesses, with its own
+ * algorithm instance. The copies of all workers are merged when all scores have been taken, so the
+ * guesses are the same as in the sequential mode.
+ * 
+ * <p>
+ * A calculator can also be created in lazy mode with {@link #createLazy(Mastermind,
+ * AlgorithmFactory, int)}. A lazy calculator doesn't calculate any guesses upon
+ * construction. Instead, the guess for a score path is calculated the first time it is looked up,
+ * and is then kept in a concurrent map of futures, so that it is calculated only once even if
+ * several threads look it up at the same time. This makes the startup instant and keeps only the
+ * guesses for score paths which actually occur, at the price of a small allocation per lookup. A
+ * lazy calculator is safe for use by multiple threads, for example by the workers of an {@link
+ * AlgorithmEvaluator}.
+ * 
+ * <p>
+ * The calculated guesses can be written to a binary stream with {@link #write(DataOutput)} and read
+ * back with {@link #read(Mastermind, AlgorithmFactory, ByteBuffer)}, which is used by
+ * {@link GuessCalculatorCache} to persist calculators across program runs. A calculator can also
+ * be extended to more levels with {@link #GuessCalculator(GuessCalculator, int)}, which shares the
+ * guesses of the extended calculator.
+ * 
+ * <p>
+ * Calculators extending the same calculator, for example the ones of a {@link
+ * GuessCalculatorCache} for different levels extending its opening book, calculate many of the
+ * same guesses. The guesses they make are therefore kept in a transposition table, which is
+ * created by the extended calculator when it is first extended and shared by all calculators
+ * extending it. The guess for a set of possible codes is looked up by the Zobrist hash of the set,
+ * and verified with a second, independent hash, rather than by keeping the set itself, so each
+ * entry takes a small constant amount of memory. The table takes up to about
+ * {@link #MAX_TRANSPOSITION_BYTES} bytes, evicting the least recently used entries. Sets of less
+ * than 3 codes are not kept, as the guesses for them are cheap. The table is only used with
+ * algorithms whose guesses depend only on the set of possible codes, that is instances of {@link
+ * AbstractAlgorithm} which are not sampling. Calculators which don't extend another one make a
+ * guess for each set only once anyway, since the sets at the same level are disjoint, so they
+ * don't use a table.
+ * 
+ * @author Stoyan Rachev
+ */
+public class GuessCalculator
+{
+    public static final long MAX_TRANSPOSITION_BYTES = 8L << 20;
+
+    private static final int MAX_LEVELS = Byte.MAX_VALUE;
+    private static final int TRANSPOSITION_BYTES = 96;
+    private static final int MIN_TRANSPOSITION_SIZE = 3;
+    private static final long ZOBRIST_SEED = 0L;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final transient Mastermind mastermind;
+    private final transient AlgorithmFactory factory;
+    private final transient int levels;
+
+    private final transient CodeTable codes;
+    private final transient List<Score> allScores;
+    private final transient int winningScore;
+    private final transient GuessTrie trie;
+    private final transient ConcurrentMap<ScorePath, Future<Integer>> futures;
+
+    private transient Transpositions transpositions;
+
+    /**
+     * Creates a new guess calculator for the specified game setup, algorithm, and levels. This
+     * constructor performs the computationally hard guesses initialization, so that subsequent
+     * method invocations are very fast.
+     * 
+     * @param mastermind The game setup to use.
+     * @param factory The algorithm factory used to produce multiple instances of the algorithm
+     * being evaluated.
+     * @param levels The number of game rounds to calculate and store guesses for.
+     */
+    public GuessCalculator(final Mastermind mastermind, final AlgorithmFactory factory,
+        final int levels)
+    {
+        this(mastermind, factory, levels, 1);
+    }
+
+    /**
+     * Creates a new guess calculator for the specified game setup, algorithm, and levels, which
+     * performs the guesses initialization with the specified number of threads.
+     * 
+     * @param mastermind The game setup to use.
+     * @param factory The algorithm factory used to produce multiple instances of the algorithm
+     * being evaluated.
+     * @param levels The number of game rounds to calculate and store guesses for.
+     * @param threads The number of threads, at least 1.
+     */
+    // @checkstyle:off (Too many parameters)
+    public GuessCalculator(final Mastermind mastermind, final AlgorithmFactory factory,
+        final int levels, final int threads)
+    // @checkstyle:on
+    {
+        this(mastermind, factory, levels, null, false);
+        initGuesses(0, threads);
+    }
+
+    /**
+     * Creates a new lazy guess calculator for the specified game setup, algorithm, and levels. A
+     * lazy calculator doesn't calculate any guesses upon construction, but calculates each guess on
+     * demand the first time it is looked up, by the thread looking it up, and can be shared by
+     * multiple threads. A lazy calculator can't be extended with {@link
+     * #GuessCalculator(GuessCalculator, int, int)}.
+     * 
+     * @param mastermind The game setup to use.
+     * @param factory The algorithm factory used to produce multiple instances of the algorithm
+     * being evaluated.
+     * @param levels The number of game rounds to calculate and store guesses for.
+     * @return The lazy guess calculator.
+     */
+    public static GuessCalculator createLazy(final Mastermind mastermind,
+        final AlgorithmFactory factory, final int levels)
+    {
+        return new GuessCalculator(mastermind, factory, levels, null, true);
+    }
+
+    /**
+     * Creates a new guess calculator which extends the passed calculator to the specified levels.
+     * The guesses of the passed calculator, for example an opening book obtained from a {@link
+     * GuessCalculatorCache}, are reused rather than recalculated, so only the guesses for the
+     * additional levels are calculated by this constructor. The passed calculator must not be
+     * lazy.
+     * 
+     * @param opening The calculator to extend, for the same game setup and algorithm.
+     * @param levels The number of game rounds to calculate and store guesses for.
+     * @throws MastermindException If the passed calculator is lazy.
+     */
+    public GuessCalculator(final GuessCalculator opening, final int levels)
+    {
+        this(opening, levels, 1);
+    }
+
+    /**
+     * Creates a new guess calculator which extends the passed calculator to the specified levels,
+     * and calculates the guesses for the additional levels with the specified number of threads.
+     * 
+     * @param opening The calculator to extend, for the same game setup and algorithm.
+     * @param levels The number of game rounds to calculate and store guesses for.
+     * @param threads The number of threads, at least 1.
+     * @throws MastermindException If the passed calculator is lazy.
+     */
+    public GuessCalculator(final GuessCalculator opening, final int levels, final int threads)
+    {
+        this(opening.mastermind, opening.factory, levels, opening, false);
+        initGuesses(Math.min(opening.levels, levels), threads);
+    }
+
+    // @checkstyle:off (Too many parameters)
+    private GuessCalculator(final Mastermind mastermind, final AlgorithmFactory factory,
+        final int levels, final GuessCalculator opening, final boolean lazy)
+    // @checkstyle:on
+    {
+        assert (mastermind != null && factory != null && levels > 0);
+        assert (opening == null || !lazy);
+        if (opening != null && opening.isLazy())
+        {
+            throw new MastermindException();
+        }
+        this.mastermind = mastermind;
+        this.factory = factory;
+        this.levels = levels;
+        this.codes = mastermind.getCodes();
+        this.allScores = mastermind.getAllPossibleScores();
+        this.winningScore = mastermind.getScoreIndex(mastermind.getWinningScore());
+        this.futures = lazy ? new ConcurrentHashMap<ScorePath, Future<Integer>>() : null;
+        if (opening != null)
+        {
+            this.trie = opening.trie.copy(Math.min(opening.levels, levels));
+            this.transpositions = opening.getTranspositions();
+        }
+        else
+        {
+            this.trie = new GuessTrie(allScores.size());
+        }
+    }
+
+    private synchronized Transpositions getTranspositions()
+    {
+        if (transpositions == null)
+        {
+            transpositions = new Transpositions(codes.size());
+        }
+        return transpositions;
+    }
+
+    /**
+     * Reads a guess calculator previously written by {@link #write(DataOutput)} from the passed
+     * buffer, starting at its current position. The guesses are not recalculated, so the buffer
+     * must have been written by a calculator for the same game setup and algorithm. If the buffer
+     * is truncated, or contains levels, score indexes, or guess indexes which are out of range for
+     * this game setup, null is returned.
+     * 
+     * @param mastermind The game setup to use.
+     * @param factory The algorithm factory used to produce multiple instances of the algorithm
+     * being evaluated.
+     * @param buffer The buffer to read from.
+     * @return The guess calculator read, or null if the buffer content is invalid.
+     */
+    public static GuessCalculator read(final Mastermind mastermind,
+        final AlgorithmFactory factory, final ByteBuffer buffer)
+    {
+        assert (buffer != null);
+        GuessCalculator result = null;
+        try
+        {
+            final int levels = buffer.getInt();
+            if (levels > 0 && levels <= MAX_LEVELS)
+            {
+                result = new GuessCalculator(mastermind, factory, levels, null, false);
+                if (!result.readGuesses(buffer))
+                {
+                    result = null;
+                }
+            }
+        }
+        catch (BufferUnderflowException e)
+        {
+            result = null;
+        }
+        return result;
+    }
+
+    private boolean readGuesses(final ByteBuffer buffer)
+    {
+        final int[] path = new int[levels];
+        boolean result = true;
+        for (int level = buffer.get(); level >= 0 && result; level = buffer.get())
+        {
+            result = (level < levels);
+            for (int i = 0; i < level && result; i++)
+            {
+                path[i] = buffer.get();
+                result = (path[i] >= 0 && path[i] < allScores.size());
+            }
+            final int guess = result ? buffer.getInt() : GuessTrie.NONE;
+            result = (guess >= 0 && guess < codes.size());
+            if (result)
+            {
+                trie.put(path, level, guess);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Writes the number of levels and all guesses of this calculator to the passed output. Each
+     * guess is written as a record containing its level, the indexes of the scores leading to it,
+     * and its index in the {@link CodeTable} of the game setup. The records are terminated by a
+     * negative level. For a lazy calculator, only the guesses calculated so far are written.
+     * 
+     * @param out The output to write to.
+     * @throws IOException If writing to the output failed.
+     */
+    public final void write(final DataOutput out) throws IOException
+    {
+        assert (out != null && levels <= MAX_LEVELS);
+        out.writeInt(levels);
+        writeNode(out, getTrie(), new byte[levels], GuessTrie.ROOT, 0);
+        out.writeByte(-1);
+    }
+
+    // @checkstyle:off (Too many parameters)
+    private void writeNode(final DataOutput out, final GuessTrie triex, final byte[] path,
+        final int node, final int level) throws IOException
+    // @checkstyle:on
+    {
+        final int guess = triex.getGuess(node);
+        if (guess != GuessTrie.NONE)
+        {
+            out.writeByte(level);
+            out.write(path, 0, level);
+            out.writeInt(guess);
+        }
+        for (int score = 0; score < allScores.size() && level < levels - 1; score++)
+        {
+            final int child = triex.getChild(node, score);
+            if (child != GuessTrie.NONE)
+            {
+                path[level] = (byte) score;
+                writeNode(out, triex, path, child, level + 1);
+            }
+        }
+    }
+
+    private void initGuesses(final int from, final int threads)
+    {
+        assert (threads > 0);
+        final int to = (threads > 1) ? Math.min(Math.max(from, 1), levels) : levels;
+        final Replay replay = new Replay(trie);
+        final int[] path = new int[levels];
+        for (int i = from; i < to; i++)
+        {
+            replay.initGuesses(path, i, 0);
+        }
+        if (to < levels)
+        {
+            initBranches(to, threads);
+        }
+    }
+
+    private void initBranches(final int from, final int threads)
+    {
+        final AtomicInteger next = new AtomicInteger();
+        final List<BranchTask> tasks = new ArrayList<BranchTask>(threads);
+        for (int i = 0; i < threads; i++)
+        {
+            tasks.add(new BranchTask(from, next));
+        }
+        for (final GuessTrie triex : Workers.invokeAll(tasks))
+        {
+            trie.putAll(triex);
+        }
+    }
+
+    private GuessTrie getTrie()
+    {
+        GuessTrie result = trie;
+        if (futures != null)
+        {
+            result = new GuessTrie(allScores.size());
+            for (final Map.Entry<ScorePath, Future<Integer>> entry : futures.entrySet())
+            {
+                final int[] scores = entry.getKey().scores;
+                final int guess =
+                    entry.getValue().isDone() ? getResult(entry.getValue()) : GuessTrie.NONE;
+                if (guess != GuessTrie.NONE)
+                {
+                    result.put(scores, scores.length, guess);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if this calculator is lazy, that is it was created by {@link
+     * #createLazy(Mastermind, AlgorithmFactory, int)}.
+     * 
+     * @return true if the calculator is lazy, false otherwise.
+     */
+    public final boolean isLazy()
+    {
+        return (futures != null);
+    }
+
+    /**
+     * Returns the number of game rounds for which the calculator stores guesses.
+     * 
+     * @return The number of levels.
+     */
+    public final int getLevels()
+    {
+        return levels;
+    }
+
+    /**
+     * Returns true if the calculator has precalculated guesses for the specified level (game
+     * round), which is the case if this level is lower than the calculator levels.
+     * 
+     * @param level The level to check.
+     * @return true if the calculator has precalculated guesses for the specified level, false
+     * otherwise.
+     */
+    public final boolean hasGuesses(final int level)
+    {
+        assert (level >= 0);
+        return (level < levels);
+    }
+
+    /**
+     * Returns the index of the precalculated guess for the specified level and previously produced
+     * scores, in the {@link CodeTable} of the game setup. For an eager calculator, this method
+     * doesn't allocate any objects. For a lazy calculator, the guess is calculated if it hasn't
+     * been calculated yet, or else it is waited for if it is being calculated by another thread.
+     * 
+     * @param scores The indexes of the scores produced during the previous game rounds, in the
+     * list returned by {@link Mastermind#getAllPossibleScores()}.
+     * @param level The level for which to return the precalculated guess, which is also the number
+     * of scores in the passed array to take into account.
+     * @return The index of the precalculated guess, or {@link GuessTrie#NONE} if there is no such
+     * guess.
+     */
+    public final int getGuessIndex(final int[] scores, final int level)
+    {
+        assert hasGuesses(level);
+        assert (scores != null && scores.length >= level);
+        return (futures != null) ? getLazyGuessIndex(scores, level) : trie.find(scores, level);
+    }
+
+    private int getLazyGuessIndex(final int[] scores, final int level)
+    {
+        final ScorePath path = new ScorePath(Arrays.copyOf(scores, level));
+        Future<Integer> future = futures.get(path);
+        if (future == null)
+        {
+            final FutureTask<Integer> task = new FutureTask<Integer>(new GuessTask(path.scores));
+            future = futures.putIfAbsent(path, task);
+            if (future == null)
+            {
+                future = task;
+                task.run();
+            }
+        }
+        return getResult(future);
+    }
+
+    private static int getResult(final Future<Integer> future)
+    {
+        int result;
+        try
+        {
+            result = future.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new MastermindException(e);
+        }
+        catch (ExecutionException e)
+        {
+            throw Workers.wrap(e.getCause());
+        }
+        return result;
+    }
+
+    /**
+     * Returns the precalculated guess for the specified level and previously produced scores.
+     * 
+     * @param scores A list of scores produced during the previous game rounds.
+     * @param level The level for which to return the precalculated guess.
+     * @return The precalculated guess for the specified level and scores, or an empty string if
+     * there is no such guess.
+     */
+    public final String getGuess(final List<Score> scores, final int level)
+    {
+        assert hasGuesses(level);
+        assert (level > 0) ? (scores != null && scores.size() >= level) : true;
+        final int[] scoresx = new int[level];
+        for (int i = 0; i < level; i++)
+        {
+            scoresx[i] = mastermind.getScoreIndex(scores.get(i));
+        }
+        final int guess = getGuessIndex(scoresx, level);
+        return (guess != GuessTrie.NONE) ? codes.getCode(guess) : "";
+    }
+
+    /**
+     * The state used to calculate guesses by a single thread, which is an algorithm instance, the
+     * guesses and scores played with it so far, and the trie to which the calculated guesses are
+     * put.
+     */
+    private final class Replay
+    {
+        private final transient Algorithm algorithm = factory.getAlgorithm();
+        private final transient int[] guesses = new int[levels];
+        private final transient int[] playedGuesses = new int[levels];
+        private final transient int[] playedScores = new int[levels];
+        private final transient GuessTrie target;
+
+        Replay(final GuessTrie target)
+        {
+            this.target = target;
+        }
+
+        void initBranch(final int[] path, final int from)
+        {
+            for (int level = from; level < levels && path[0] != winningScore; level++)
+            {
+                if (level == 1 || hasGuess(path, 1))
+                {
+                    initGuesses(path, level, 1);
+                }
+            }
+        }
+
+        void initGuesses(final int[] path, final int level, final int depth)
+        {
+            if (depth == level)
+            {
+                guesses[0] = target.getGuess(GuessTrie.ROOT);
+                final int guess = makeGuess(path, level);
+                if (guess != GuessTrie.NONE)
+                {
+                    target.put(path, level, guess);
+                }
+            }
+            else
+            {
+                for (int score = 0; score < allScores.size(); score++)
+                {
+                    path[depth] = score;
+                    if (score != winningScore
+                        && (depth == level - 1 || hasGuess(path, depth + 1)))
+                    {
+                        initGuesses(path, level, depth + 1);
+                    }
+                }
+            }
+        }
+
+        private boolean hasGuess(final int[] path, final int level)
+        {
+            guesses[level] = target.find(path, level);
+            return (guesses[level] != GuessTrie.NONE);
+        }
+
+        int makeGuess(final int[] path, final int level)
+        {
+            int round = 0;
+            while (round < level && round < algorithm.getRounds() && isPlayed(path, round))
+            {
+                round++;
+            }
+            algorithm.rewind(round);
+            for (; round < level; round++)
+            {
+                playedGuesses[round] = guesses[round];
+                playedScores[round] = path[round];
+                algorithm.putGuessScore(codes.getCode(playedGuesses[round]),
+                    allScores.get(playedScores[round]));
+            }
+            return makeGuess();
+        }
+
+        private boolean isPlayed(final int[] path, final int round)
+        {
+            return playedGuesses[round] == guesses[round] && playedScores[round] == path[round];
+        }
+
+        private int makeGuess()
+        {
+            int result;
+            final CodeSet possibleCodes = getTransposableCodes();
+            if (possibleCodes != null)
+            {
+                final long key = transpositions.getKey(possibleCodes);
+                final long check = transpositions.getCheck(possibleCodes);
+                result = transpositions.get(key, check);
+                if (result == GuessTrie.NONE)
+                {
+                    result = getIndex(algorithm.makeGuess());
+                    transpositions.put(key, check, result);
+                }
+            }
+            else
+            {
+                result = getIndex(algorithm.makeGuess());
+            }
+            return result;
+        }
+
+        private int getIndex(final String guess)
+        {
+            return guess.isEmpty() ? GuessTrie.NONE : codes.getIndex(guess);
+        }
+
+        private CodeSet getTransposableCodes()
+        {
+            CodeSet result = null;
+            if (transpositions != null && algorithm instanceof AbstractAlgorithm
+                && !((AbstractAlgorithm) algorithm).isSampling())
+            {
+                result = ((AbstractAlgorithm) algorithm).getPossibleCodes();
+            }
+            return (result != null && result.size() >= MIN_TRANSPOSITION_SIZE) ? result : null;
+        }
+    }
+
+    /**
+     * A task calculating the guesses after the first scores taken from a shared counter into its
+     * own copy of the guesses, which is returned.
+     */
+    private final class BranchTask implements Callable<GuessTrie>
+    {
+        private final transient int from;
+        private final transient AtomicInteger next;
+
+        BranchTask(final int from, final AtomicInteger next)
+        {
+            this.from = from;
+            this.next = next;
+        }
+
+        @Override
+        public GuessTrie call()
+        {
+            final GuessTrie result = trie.copy(levels);
+            final Replay replay = new Replay(result);
+            final int[] path = new int[levels];
+            for (int i = next.getAndIncrement(); i < allScores.size(); i = next.getAndIncrement())
+            {
+                path[0] = i;
+                replay.initBranch(path, from);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * A task calculating the guess for a score path of a lazy calculator. The guesses for all
+     * shorter paths leading to it are looked up, and thus calculated if needed, first. As with an
+     * eager calculator, there is no guess if any of them is missing or any of the scores is the
+     * winning score.
+     */
+    private final class GuessTask implements Callable<Integer>
+    {
+        private final transient int[] scores;
+
+        GuessTask(final int[] scores)
+        {
+            this.scores = scores;
+        }
+
+        @Override
+        public Integer call()
+        {
+            final Replay replay = new Replay(null);
+            final int level = scores.length;
+            boolean found = true;
+            for (int i = 0; i < level && found; i++)
+            {
+                replay.guesses[i] = getLazyGuessIndex(scores, i);
+                found = (replay.guesses[i] != GuessTrie.NONE && scores[i] != winningScore);
+            }
+            return found ? replay.makeGuess(scores, level) : GuessTrie.NONE;
+        }
+    }
+
+    /**
+     * A score path used as a key for the guesses of a lazy calculator, with a precomputed hash
+     * code.
+     */
+    private static final class ScorePath
+    {
+        private final transient int[] scores;
+        private final transient int hash;
+
+        ScorePath(final int[] scores)
+        {
+            this.scores = scores;
+            this.hash = Arrays.hashCode(scores);
+        }
+
+        @Override
+        public boolean equals(final Object obj)
+        {
+            return (obj instanceof ScorePath) && hash == ((ScorePath) obj).hash
+                && Arrays.equals(scores, ((ScorePath) obj).scores);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+    }
+
+    /**
+     * A bounded transposition table which maps sets of possible codes to the guesses made for them,
+     * keyed by the Zobrist hashes of the sets. A second Zobrist hash with independent keys is kept
+     * as well, so that the unlikely collisions of the first hash are detected rather than returning
+     * a wrong guess. The table is synchronized, as it may be used by the threads calculating the
+     * guesses in parallel.
+     */
+    private static final class Transpositions
+    {
+        private static final int MAX_SIZE = (int) (MAX_TRANSPOSITION_BYTES / TRANSPOSITION_BYTES);
+
+        private final transient long[] keys;
+        private final transient long[] checks;
+        private final transient Map<Long, Transposition> map =
+            new LinkedHashMap<Long, Transposition>(MAX_SIZE / Byte.SIZE, LOAD_FACTOR, true)
+            {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<Long, Transposition> eldest)
+                {
+                    return (size() > MAX_SIZE);
+                }
+            };
+
+        Transpositions(final int size)
+        {
+            final Random random = new Random(ZOBRIST_SEED);
+            keys = new long[size];
+            checks = new long[size];
+            for (int i = 0; i < size; i++)
+            {
+                keys[i] = random.nextLong();
+                checks[i] = random.nextLong();
+            }
+        }
+
+        long getKey(final CodeSet codes)
+        {
+            return codes.hash(keys);
+        }
+
+        long getCheck(final CodeSet codes)
+        {
+            return codes.hash(checks);
+        }
+
+        synchronized int get(final long key, final long check)
+        {
+            final Transposition transposition = map.get(key);
+            final boolean found = (transposition != null && transposition.check == check);
+            return found ? transposition.guess : GuessTrie.NONE;
+        }
+
+        synchronized void put(final long key, final long check, final int guess)
+        {
+            map.put(key, new Transposition(check, guess));
+        }
+    }
+
+    private static final class Transposition
+    {
+        private final transient long check;
+        private final transient int guess;
+
+        Transposition(final long check, final int guess)
+        {
+            this.check = check;
+            this.guess = guess;
+        }
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A persistent cache of {@link GuessCalculator} instances. Each calculator is stored in its own
+ * binary file in the cache directory, keyed by the game setup (alphabet, length, and character
+ * uniqueness), the algorithm name, and the number of levels. If the file for a calculator exists,
+ * it is read into memory and the calculator is read from it without recalculating any guesses.
+ * Otherwise, the calculator is created as usual and written to a new file, so that subsequent
+ * program runs start from a warm cache.
+ * 
+ * <p>
+ * Each file starts with a header repeating the key, which is verified when the file is read. Files
+ * with a non-matching, truncated, or otherwise invalid content are ignored and overwritten. The
+ * files are not kept open or mapped after reading, so they can be overwritten on all platforms.
+ * 
+ * <p>
+ * The first {@link #OPENING_LEVELS} guesses, that is the first guess and the replies to all scores
+ * it may get, are the most expensive ones, as they are made against all codes. They are kept in an
+ * "opening book", a calculator with these levels which is stored like any other calculator. The
+ * opening book is loaded, or calculated and stored if missing, before any other calculator, and
+ * deeper calculators are calculated by extending it. Calculators are also kept in memory once
+ * loaded, so a single cache instance can be shared by all games and evaluators in a program run.
+ * 
+ * <p>
+ * Calculating the opening book may take a long time for large setups, since the replies to the
+ * first guess are made against all codes. Interactive programs which must not block before the
+ * first move can use {@link #findCalculator(Mastermind, AlgorithmFactory, int)} instead, which only
+ * returns calculators already in the cache and never calculates any guesses.
+ * 
+ * @author Stoyan Rachev
+ */
+public class GuessCalculatorCache
+{
+    public static final int OPENING_LEVELS = 2;
+
+    private static final int MAGIC = 0x4D4D4743;
+    private static final int VERSION = 1;
+
+    private static final String SEPARATOR = "_";
+    private static final String UNIQUE_CHARS = "u";
+    private static final String FILE_SUFFIX = ".calc";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String FILE_MODE = "r";
+
+    private final transient File directory;
+    private final transient String algorithm;
+    private final transient Map<File, GuessCalculator> calculators =
+        new HashMap<File, GuessCalculator>();
+
+    private transient int threads = 1;
+
+    /**
+     * Creates a new cache in the specified directory for the specified algorithm.
+     * 
+     * @param directory The cache directory, created on demand if it doesn't exist.
+     * @param algorithm The algorithm name, which should identify the algorithm produced by the
+     * factories passed to {@link #getCalculator(Mastermind, AlgorithmFactory, int)}.
+     */
+    public GuessCalculatorCache(final File directory, final String algorithm)
+    {
+        assert (directory != null && algorithm != null && !algorithm.isEmpty());
+        this.directory = directory;
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Sets the number of threads used to calculate the guesses of the calculators which are not
+     * read from the cache. The default is 1.
+     * 
+     * @param threads The number of threads, at least 1.
+     */
+    public final synchronized void setThreads(final int threads)
+    {
+        assert (threads > 0);
+        this.threads = threads;
+    }
+
+    /**
+     * Returns a guess calculator for the specified game setup, algorithm, and levels. If the
+     * specified levels don't exceed {@link #OPENING_LEVELS}, this is the opening book returned by
+     * {@link #getOpeningBook(Mastermind, AlgorithmFactory)}. Otherwise, the calculator is read from
+     * the cache if possible, or else it is created by extending the opening book and written to the
+     * cache.
+     * 
+     * @param mastermind The game setup to use.
+     * @param factory The algorithm factory used to produce multiple instances of the algorithm
+     * being evaluated.
+     * @param levels The minimum number of game rounds to calculate and store guesses for.
+     * @return The guess calculator.
+     * @throws MastermindException If reading or writing the cache file failed.
+     */
+    public final synchronized GuessCalculator getCalculator(final Mastermind mastermind,
+        final AlgorithmFactory factory, final int levels)
+    {
+        assert (mastermind != null && factory != null && levels > 0);
+        final GuessCalculator opening = getCalculator(mastermind, factory, OPENING_LEVELS, null);
+        return (levels > OPENING_LEVELS) ? getCalculator(mastermind, factory, levels, opening)
+            : opening;
+    }
+
+    /**
+     * Returns a guess calculator for the specified game setup, algorithm, and levels if it is
+     * already in the cache, without calculating any guesses. If the specified levels don't exceed
+     * {@link #OPENING_LEVELS}, this is the opening book, otherwise it is the calculator for exactly
+     * the specified levels.
+     * 
+     * @param mastermind The game setup to use.
+     * @param factory The algorithm factory used to produce multiple instances of the algorithm
+     * being evaluated.
+     * @param levels The minimum number of game rounds to return guesses for.
+     * @return The guess calculator, or null if it is not in the cache.
+     * @throws MastermindException If reading the cache file failed.
+     */
+    public final synchronized GuessCalculator findCalculator(final Mastermind mastermind,
+        final AlgorithmFactory factory, final int levels)
+    {
+        assert (mastermind != null && factory != null && levels > 0);
+        return loadCalculator(mastermind, factory, Math.max(levels, OPENING_LEVELS));
+    }
+
+    /**
+     * Returns the opening book for the specified game setup and algorithm, that is the guess
+     * calculator with {@link #OPENING_LEVELS} levels. The opening book is read from the cache if
+     * possible, otherwise it is created and written to the cache.
+     * 
+     * @param mastermind The game setup to use.
+     * @param factory The algorithm factory used to produce multiple instances of the algorithm
+     * being evaluated.
+     * @return The opening book.
+     * @throws MastermindException If reading or writing the cache file failed.
+     */
+    public final GuessCalculator getOpeningBook(final Mastermind mastermind,
+        final AlgorithmFactory factory)
+    {
+        return getCalculator(mastermind, factory, OPENING_LEVELS);
+    }
+
+    // @checkstyle:off (Too many parameters)
+    private GuessCalculator getCalculator(final Mastermind mastermind,
+        final AlgorithmFactory factory, final int levels, final GuessCalculator opening)
+    // @checkstyle:on
+    {
+        GuessCalculator result = loadCalculator(mastermind, factory, levels);
+        if (result == null)
+        {
+            final File file = getFile(mastermind, levels);
+            result = (opening != null) ? new GuessCalculator(opening, levels, threads)
+                : new GuessCalculator(mastermind, factory, levels, threads);
+            save(file, mastermind, result);
+            calculators.put(file, result);
+        }
+        return result;
+    }
+
+    private GuessCalculator loadCalculator(final Mastermind mastermind,
+        final AlgorithmFactory factory, final int levels)
+    {
+        final File file = getFile(mastermind, levels);
+        GuessCalculator result = calculators.get(file);
+        if (result == null && file.isFile())
+        {
+            result = load(file, mastermind, factory);
+            if (result != null && result.getLevels() == levels)
+            {
+                calculators.put(file, result);
+            }
+            else
+            {
+                result = null;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the cache file for the specified game setup and levels.
+     * 
+     * @param mastermind The game setup.
+     * @param levels The number of levels.
+     * @return The cache file.
+     */
+    public final File getFile(final Mastermind mastermind, final int levels)
+    {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(mastermind.getAlphabet()).append(SEPARATOR).append(mastermind.getLength());
+        if (mastermind.hasUniqueChars())
+        {
+            sb.append(UNIQUE_CHARS);
+        }
+        sb.append(SEPARATOR).append(algorithm).append(SEPARATOR).append(levels);
+        sb.append(FILE_SUFFIX);
+        return new File(directory, sb.toString());
+    }
+
+    private GuessCalculator load(final File file, final Mastermind mastermind,
+        final AlgorithmFactory factory)
+    {
+        GuessCalculator result = null;
+        try
+        {
+            final RandomAccessFile raf = new RandomAccessFile(file, FILE_MODE);
+            try
+            {
+                final long length = raf.length();
+                if (length <= Integer.MAX_VALUE)
+                {
+                    final byte[] bytes = new byte[(int) length];
+                    raf.readFully(bytes);
+                    final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                    if (hasHeader(buffer, mastermind))
+                    {
+                        result = GuessCalculator.read(mastermind, factory, buffer);
+                    }
+                }
+            }
+            finally
+            {
+                raf.close();
+            }
+        }
+        catch (BufferUnderflowException e)
+        {
+            result = null;
+        }
+        catch (IOException e)
+        {
+            throw new MastermindException(e);
+        }
+        return result;
+    }
+
+    private void save(final File file, final Mastermind mastermind, final GuessCalculator calc)
+    {
+        try
+        {
+            if (!directory.isDirectory() && !directory.mkdirs())
+            {
+                throw new IOException(directory.getPath());
+            }
+            final File temp = File.createTempFile(file.getName(), TEMP_SUFFIX, directory);
+            final DataOutputStream out =
+                new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+            try
+            {
+                writeHeader(out, mastermind);
+                calc.write(out);
+            }
+            finally
+            {
+                out.close();
+            }
+            rename(temp, file);
+        }
+        catch (IOException e)
+        {
+            throw new MastermindException(e);
+        }
+    }
+
+    private static void rename(final File temp, final File file) throws IOException
+    {
+        if ((file.exists() && !file.delete()) || !temp.renameTo(file))
+        {
+            if (!temp.delete())
+            {
+                temp.deleteOnExit();
+            }
+            throw new IOException(file.getPath());
+        }
+    }
+
+    private void writeHeader(final DataOutput out, final Mastermind mastermind)
+        throws IOException
+    {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        writeString(out, mastermind.getAlphabet());
+        out.writeInt(mastermind.getLength());
+        out.writeBoolean(mastermind.hasUniqueChars());
+        writeString(out, algorithm);
+    }
+
+    private boolean hasHeader(final ByteBuffer buffer, final Mastermind mastermind)
+    {
+        return buffer.getInt() == MAGIC && buffer.getInt() == VERSION
+            && readString(buffer).equals(mastermind.getAlphabet())
+            && buffer.getInt() == mastermind.getLength()
+            && (buffer.get() != 0) == mastermind.hasUniqueChars()
+            && readString(buffer).equals(algorithm);
+    }
+
+    private static void writeString(final DataOutput out, final String string)
+        throws IOException
+    {
+        out.writeInt(string.length());
+        out.writeChars(string);
+    }
+
+    private static String readString(final ByteBuffer buffer)
+    {
+        final int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining())
+        {
+            throw new BufferUnderflowException();
+        }
+        final char[] chars = new char[length];
+        for (int i = 0; i < length; i++)
+        {
+            chars[i] = buffer.getChar();
+        }
+        return new String(chars);
+    }
+}
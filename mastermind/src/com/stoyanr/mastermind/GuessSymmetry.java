@@ -0,0 +1,252 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Computes the canonical guesses for a particular game setup and guess history. Two guesses are
+ * equivalent if one can be transformed into the other by a symmetry of the game which leaves all
+ * guesses made so far unchanged. Such symmetries also leave the set of still possible codes
+ * unchanged, and so equivalent guesses partition it into parts of the same sizes. The canonical
+ * guess of each equivalence class is its member with the lowest index, so rating only canonical
+ * guesses in index order finds the same best guess as rating all of them.
+ * 
+ * <p>
+ * Two kinds of symmetries are considered:
+ * <ul>
+ * <li>Swapping two positions at which all guesses made so far have the same characters.</li>
+ * <li>Swapping two characters which don't occur in any guess made so far.</li>
+ * </ul>
+ * Before the first guess, all positions and all characters are interchangeable, so the number of
+ * canonical guesses is very small. For example, for the classical Mastermind setup there are only 5
+ * canonical first guesses (AAAA, AAAB, AABB, AABC, and ABCD) instead of 1296. As more guesses are
+ * made, the symmetries quickly disappear, and all guesses become canonical.
+ * 
+ * <p>
+ * The equivalence classes are found by following the above swaps from each guess in index order,
+ * so each guess is visited exactly once. The canonical first guesses are the same for all games,
+ * so they are found only once and then reused. The instance returned by {@link
+ * Mastermind#getGuessSymmetry()} is shared by all algorithms using the same game setup.
+ * 
+ * @author Stoyan Rachev
+ */
+public class GuessSymmetry
+{
+    private final transient Mastermind mastermind;
+    private final transient CodeTable codes;
+    private final transient CodeSpace space;
+    private final transient int length;
+    private final transient int numChars;
+
+    private transient volatile CodeSet firstGuesses;
+
+    /**
+     * Creates a new guess symmetry for the passed game setup.
+     * 
+     * @param mastermind The game setup to use.
+     */
+    public GuessSymmetry(final Mastermind mastermind)
+    {
+        assert (mastermind != null);
+        this.mastermind = mastermind;
+        this.codes = mastermind.getCodes();
+        this.space = mastermind.getCodeSpace();
+        this.length = mastermind.getLength();
+        this.numChars = mastermind.getAlphabet().length();
+    }
+
+    /**
+     * Returns the set of canonical guesses after the passed guesses have been made. If there are
+     * no symmetries left, this is the set of all codes.
+     * 
+     * @param guesses The indexes of the guesses made so far.
+     * @param rounds The number of guesses made so far, the first elements of the passed array.
+     * @return The set of canonical guesses.
+     */
+    public final CodeSet getCanonicalGuesses(final int[] guesses, final int rounds)
+    {
+        assert (guesses != null && rounds >= 0 && rounds <= guesses.length);
+        CodeSet result;
+        if (rounds == 0)
+        {
+            if (firstGuesses == null)
+            {
+                firstGuesses = calcCanonicalGuesses(guesses, rounds);
+            }
+            result = firstGuesses;
+        }
+        else
+        {
+            result = calcCanonicalGuesses(guesses, rounds);
+        }
+        return result;
+    }
+
+    private CodeSet calcCanonicalGuesses(final int[] guesses, final int rounds)
+    {
+        final List<int[]> positionSwaps = findPositionSwaps(guesses, rounds);
+        final List<int[]> charSwaps = findCharSwaps(guesses, rounds);
+        CodeSet result;
+        if (positionSwaps.isEmpty() && charSwaps.isEmpty())
+        {
+            result = mastermind.getAllCodes();
+        }
+        else
+        {
+            result = findCanonicalGuesses(positionSwaps, charSwaps);
+        }
+        return result;
+    }
+
+    private List<int[]> findPositionSwaps(final int[] guesses, final int rounds)
+    {
+        final List<int[]> result = new ArrayList<int[]>();
+        for (int i = 1; i < length; i++)
+        {
+            for (int j = i - 1; j >= 0; j--)
+            {
+                if (isSameColumn(guesses, rounds, i, j))
+                {
+                    result.add(new int[] { j, i });
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private boolean isSameColumn(final int[] guesses, final int rounds, final int i, final int j)
+    {
+        boolean result = true;
+        for (int round = 0; round < rounds && result; round++)
+        {
+            final long packed = codes.getPacked(guesses[round]);
+            result = (getChar(packed, i) == getChar(packed, j));
+        }
+        return result;
+    }
+
+    private List<int[]> findCharSwaps(final int[] guesses, final int rounds)
+    {
+        final List<int[]> result = new ArrayList<int[]>();
+        int usedChars = 0;
+        for (int round = 0; round < rounds; round++)
+        {
+            usedChars |= codes.getCharMask(guesses[round]);
+        }
+        int prev = -1;
+        for (int c = 0; c < numChars; c++)
+        {
+            if ((usedChars & (1 << c)) == 0)
+            {
+                if (prev != -1)
+                {
+                    result.add(new int[] { prev, c });
+                }
+                prev = c;
+            }
+        }
+        return result;
+    }
+
+    private CodeSet findCanonicalGuesses(final List<int[]> positionSwaps,
+        final List<int[]> charSwaps)
+    {
+        final int size = codes.size();
+        final long[] words = new long[CodeSet.getNumWords(size)];
+        final boolean[] visited = new boolean[size];
+        final int[] queue = new int[size];
+        for (int code = 0; code < size; code++)
+        {
+            if (!visited[code])
+            {
+                words[CodeSet.getWordIndex(code)] |= CodeSet.getBit(code);
+                visited[code] = true;
+                queue[0] = code;
+                int head = 0, tail = 1;
+                while (head < tail)
+                {
+                    final long packed = codes.getPacked(queue[head++]);
+                    for (final int[] swap : positionSwaps)
+                    {
+                        tail = visit(swapPositions(packed, swap[0], swap[1]), visited, queue, tail);
+                    }
+                    for (final int[] swap : charSwaps)
+                    {
+                        tail = visit(swapChars(packed, swap[0], swap[1]), visited, queue, tail);
+                    }
+                }
+            }
+        }
+        return new CodeSet(words, size);
+    }
+
+    // @checkstyle:off (Too many parameters)
+    private int visit(final long packed, final boolean[] visited, final int[] queue,
+        final int tail)
+    // @checkstyle:on
+    {
+        int result = tail;
+        final int code = (int) space.getIndex(packed);
+        if (!visited[code])
+        {
+            visited[code] = true;
+            queue[result++] = code;
+        }
+        return result;
+    }
+
+    private long swapPositions(final long packed, final int i, final int j)
+    {
+        final long ci = getChar(packed, i), cj = getChar(packed, j);
+        final long mask =
+            (CodeTable.CHAR_MASK << getShift(i)) | (CodeTable.CHAR_MASK << getShift(j));
+        return (packed & ~mask) | (ci << getShift(j)) | (cj << getShift(i));
+    }
+
+    private long swapChars(final long packed, final int c1, final int c2)
+    {
+        long result = 0L;
+        for (int i = 0; i < length; i++)
+        {
+            int c = getChar(packed, i);
+            if (c == c1)
+            {
+                c = c2;
+            }
+            else if (c == c2)
+            {
+                c = c1;
+            }
+            result |= (long) c << getShift(i);
+        }
+        return result;
+    }
+
+    private int getChar(final long packed, final int position)
+    {
+        return (int) ((packed >>> getShift(position)) & CodeTable.CHAR_MASK);
+    }
+
+    private int getShift(final int position)
+    {
+        return (length - 1 - position) * CodeTable.BITS_PER_CHAR;
+    }
+}
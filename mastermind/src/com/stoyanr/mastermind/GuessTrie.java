@@ -0,0 +1,257 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import java.util.Arrays;
+
+/**
+ * A trie of guesses keyed by score paths, stored in primitive arrays. Each node of the trie
+ * corresponds to a list of scores produced during the previous game rounds, and contains the index
+ * of the guess to be made after these scores in the {@link CodeTable} of the game setup, or
+ * {@link #NONE} if there is no such guess. The children of node <code>n</code> are stored at
+ * indexes <code>n * s</code> to <code>n * s + s - 1</code> of a single array, where
+ * <code>s</code> is the number of all possible scores, so the child for a score is found by adding
+ * the score index to this base. The root of the trie is node 0, which contains the first guess.
+ * 
+ * <p>
+ * The trie can be grown by putting guesses for arbitrary score paths, which is how {@link
+ * GuessCalculator} stores its guesses, or node by node, which is how {@link StrategyCompiler} and
+ * {@link OptimalStrategySolver} build complete decision trees. A complete trie can then be frozen
+ * into an immutable {@link StrategyTree}, which has exactly the same layout. Looking up a guess
+ * only walks the arrays and doesn't allocate any objects. The trie is not thread-safe while it is
+ * being grown.
+ * 
+ * @author Stoyan Rachev
+ */
+public class GuessTrie
+{
+    public static final int ROOT = 0;
+    public static final int NONE = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final transient int numScores;
+    private transient int[] guesses;
+    private transient int[] children;
+    private transient int size = 0;
+
+    /**
+     * Creates a new trie containing only the root node, without a guess.
+     * 
+     * @param numScores The number of all possible scores.
+     */
+    public GuessTrie(final int numScores)
+    {
+        assert (numScores > 0);
+        this.numScores = numScores;
+        this.guesses = new int[INITIAL_CAPACITY];
+        this.children = newChildren(INITIAL_CAPACITY);
+        addNode();
+    }
+
+    private int[] newChildren(final int capacity)
+    {
+        final int[] result = new int[capacity * numScores];
+        Arrays.fill(result, NONE);
+        return result;
+    }
+
+    /**
+     * Returns the number of nodes in the trie.
+     * 
+     * @return The number of nodes.
+     */
+    public final int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns the index of the guess at the specified node, or {@link #NONE} if there is no guess.
+     * 
+     * @param node The node index.
+     * @return The guess index, or {@link #NONE}.
+     */
+    public final int getGuess(final int node)
+    {
+        return guesses[node];
+    }
+
+    /**
+     * Returns the child of the specified node for the score with the specified index, or
+     * {@link #NONE} if there is no such child.
+     * 
+     * @param node The node index.
+     * @param score The index of the score in the list of all possible scores.
+     * @return The child node index, or {@link #NONE}.
+     */
+    public final int getChild(final int node, final int score)
+    {
+        return children[node * numScores + score];
+    }
+
+    /**
+     * Returns the index of the guess after the specified scores, or {@link #NONE} if there is no
+     * such guess.
+     * 
+     * @param scores The indexes of the scores produced during the previous game rounds.
+     * @param level The number of previous game rounds, the first elements of the passed array.
+     * @return The guess index, or {@link #NONE}.
+     */
+    public final int find(final int[] scores, final int level)
+    {
+        assert (scores != null && level >= 0 && level <= scores.length);
+        int node = ROOT;
+        for (int i = 0; i < level && node != NONE; i++)
+        {
+            node = getChild(node, scores[i]);
+        }
+        return (node != NONE) ? guesses[node] : NONE;
+    }
+
+    /**
+     * Puts the specified guess after the specified scores, adding any missing nodes on the way.
+     * 
+     * @param scores The indexes of the scores produced during the previous game rounds.
+     * @param level The number of previous game rounds, the first elements of the passed array.
+     * @param guess The index of the guess.
+     */
+    public final void put(final int[] scores, final int level, final int guess)
+    {
+        assert (scores != null && level >= 0 && level <= scores.length);
+        int node = ROOT;
+        for (int i = 0; i < level; i++)
+        {
+            final int child = getChild(node, scores[i]);
+            node = (child != NONE) ? child : addChild(node, scores[i]);
+        }
+        guesses[node] = guess;
+    }
+
+    /**
+     * Sets the guess at the specified node.
+     * 
+     * @param node The node index.
+     * @param guess The index of the guess.
+     */
+    final void setGuess(final int node, final int guess)
+    {
+        guesses[node] = guess;
+    }
+
+    /**
+     * Adds a new node without a guess as the child of the specified node for the score with the
+     * specified index. The node should not already have such a child.
+     * 
+     * @param node The node index.
+     * @param score The index of the score in the list of all possible scores.
+     * @return The index of the new child node.
+     */
+    final int addChild(final int node, final int score)
+    {
+        assert (getChild(node, score) == NONE);
+        final int result = addNode();
+        children[node * numScores + score] = result;
+        return result;
+    }
+
+    private int addNode()
+    {
+        if (size == guesses.length)
+        {
+            final int capacity = size * 2;
+            guesses = Arrays.copyOf(guesses, capacity);
+            final int[] childrenx = newChildren(capacity);
+            System.arraycopy(children, 0, childrenx, 0, children.length);
+            children = childrenx;
+        }
+        guesses[size] = NONE;
+        return size++;
+    }
+
+    /**
+     * Puts all guesses of the passed trie into this trie, adding any missing nodes on the way. The
+     * guesses of the passed trie replace the guesses of this trie for the same score paths.
+     * 
+     * @param trie The trie to put the guesses of.
+     */
+    public final void putAll(final GuessTrie trie)
+    {
+        assert (trie != null && trie.numScores == numScores);
+        putAll(trie, ROOT, ROOT);
+    }
+
+    private void putAll(final GuessTrie trie, final int node, final int nodex)
+    {
+        if (trie.guesses[node] != NONE)
+        {
+            guesses[nodex] = trie.guesses[node];
+        }
+        for (int score = 0; score < numScores; score++)
+        {
+            final int child = trie.getChild(node, score);
+            if (child != NONE)
+            {
+                final int childx = getChild(nodex, score);
+                putAll(trie, child, (childx != NONE) ? childx : addChild(nodex, score));
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of this trie which contains only the guesses for less than the specified
+     * number of previous game rounds.
+     * 
+     * @param levels The number of levels to copy.
+     * @return The copy of this trie.
+     */
+    public final GuessTrie copy(final int levels)
+    {
+        final GuessTrie result = new GuessTrie(numScores);
+        if (levels > 0)
+        {
+            copyNode(result, ROOT, ROOT, levels - 1);
+        }
+        return result;
+    }
+
+    private void copyNode(final GuessTrie trie, final int node, final int nodex, final int depth)
+    {
+        trie.guesses[nodex] = guesses[node];
+        for (int score = 0; score < numScores && depth > 0; score++)
+        {
+            final int child = getChild(node, score);
+            if (child != NONE)
+            {
+                copyNode(trie, child, trie.addChild(nodex, score), depth - 1);
+            }
+        }
+    }
+
+    /**
+     * Returns an immutable strategy tree with the same nodes as this trie. All nodes should contain
+     * a guess.
+     * 
+     * @return The strategy tree.
+     */
+    public final StrategyTree toStrategyTree()
+    {
+        return new StrategyTree(Arrays.copyOf(guesses, size),
+            Arrays.copyOf(children, size * numScores), numScores);
+    }
+}
@@ -1,195 +1,316 @@
-/*
- * $Id: $
- *
- * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- * 
- *     http://www.apache.org/licenses/LICENSE-2.0
- * 
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-package com.stoyanr.mastermind;
-
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
-import java.io.Reader;
-import java.io.UnsupportedEncodingException;
-import java.io.Writer;
-import java.util.Arrays;
-
-import com.stoyanr.util.Arguments;
-import com.stoyanr.util.ArgumentsException;
-
-/**
- * A simple command line program to test and demonstrate the capabilities of this package. See <a
- * href="https://github.com/stoyanr/Masterminder/wiki">Masterminder Wiki</a> for more information.
- * 
- * @author Stoyan Rachev
- */
-public class Main
-{
-    private static final String ARG_ALPHABET = "a";
-    private static final String ARG_LENGTH = "l";
-    private static final String ARG_UNIQUE_CHARS = "u";
-    private static final String ARG_MAX_ROUNDS = "r";
-    private static final String ARG_ALG = "s";
-    private static final String ARG_PRECALC_LEVELS = "p";
-    private static final String ARG_MODE = "m";
-    private static final String ARGS_SCHEMA = ARG_ALPHABET + "*," + ARG_LENGTH + "#,"
-        + ARG_UNIQUE_CHARS + "!," + ARG_MAX_ROUNDS + "#," + ARG_ALG + "*," + ARG_PRECALC_LEVELS
-        + "#," + ARG_MODE + "*";
-
-    private static final String ALG_SIMPLE = "simple";
-    private static final String ALG_KNUTH = "knuth";
-    private static final String ALG_EXP_SIZE = "exp_size";
-
-    private static final String MODE_PLAY = "play";
-    private static final String MODE_EVALUATE = "eval";
-
-    private static final String DEFAULT_ALPHABET = "ABCDEF";
-    private static final int DEFAULT_LENGTH = 4;
-    private static final boolean DEFAULT_UNIQUE_CHARS = false;
-    private static final int DEFAULT_MAX_ROUNDS = 7;
-    private static final String DEFAULT_ALG = ALG_SIMPLE;
-    private static final int DEFAULT_PRECALC_LEVELS = 1;
-    private static final String DEFAULT_MODE = MODE_PLAY;
-
-    private final transient String[] args;
-    private final transient Reader reader;
-    private final transient Writer writer;
-
-    private transient String alphabet;
-    private transient int length;
-    private transient boolean uniqueChars;
-    private transient int maxRounds;
-    private transient String alg;
-    private transient int precalcLevels;
-    private transient String mode;
-
-    Main(final String[] args, final Reader reader, final Writer writer)
-    {
-        assert (args != null && reader != null && writer != null);
-        this.args = Arrays.copyOf(args, args.length);
-        this.reader = reader;
-        this.writer = writer;
-        initialize();
-    }
-
-    private void initialize()
-    {
-        try
-        {
-            final Arguments arguments = new Arguments(ARGS_SCHEMA, args);
-            alphabet = arguments.getString(ARG_ALPHABET, DEFAULT_ALPHABET);
-            length = arguments.getInt(ARG_LENGTH, DEFAULT_LENGTH);
-            uniqueChars = arguments.getBoolean(ARG_UNIQUE_CHARS, DEFAULT_UNIQUE_CHARS);
-            maxRounds = arguments.getInt(ARG_MAX_ROUNDS, DEFAULT_MAX_ROUNDS);
-            alg = arguments.getString(ARG_ALG, DEFAULT_ALG);
-            precalcLevels = arguments.getInt(ARG_PRECALC_LEVELS, DEFAULT_PRECALC_LEVELS);
-            mode = arguments.getString(ARG_MODE, DEFAULT_MODE);
-        }
-        catch (ArgumentsException e)
-        {
-            reportError(e);
-        }
-    }
-
-    /**
-     * Runs the program.
-     */
-    public final void run()
-    {
-        try
-        {
-            if (mode.equals(MODE_PLAY))
-            {
-                playGame();
-            }
-            else if (mode.equals(MODE_EVALUATE))
-            {
-                evaluateAlgorithm();
-            }
-        }
-        catch (final MastermindException e)
-        {
-            reportError(e);
-        }
-    }
-
-    private void playGame()
-    {
-        final Mastermind mastermind = new Mastermind(alphabet, length, uniqueChars);
-        final AlgorithmFactory factory = createFactory(mastermind);
-        final Algorithm algorithm = factory.getAlgorithm();
-        final Player player = new ReaderWriterPlayer(mastermind, reader, writer);
-        final GuessCalculator calc = new GuessCalculator(mastermind, factory, precalcLevels);
-        final Game game = new Game(mastermind, algorithm, maxRounds, player, calc);
-        game.play();
-    }
-
-    private void evaluateAlgorithm()
-    {
-        final Mastermind mastermind = new Mastermind(alphabet, length, uniqueChars);
-        final AlgorithmFactory factory = createFactory(mastermind);
-        final AlgorithmEvaluator eval = new AlgorithmEvaluator(mastermind, factory, precalcLevels);
-        eval.evaluate();
-    }
-
-    private AlgorithmFactory createFactory(final Mastermind mastermind)
-    {
-        AlgorithmFactory factory;
-        if (alg.equals(ALG_KNUTH))
-        {
-            factory = new KnuthAlgorithmFactory(mastermind);
-        }
-        else if (alg.equals(ALG_EXP_SIZE))
-        {
-            factory = new ExpectedSizeAlgorithmFactory(mastermind);
-        }
-        else if (alg.equals(ALG_SIMPLE))
-        {
-            factory = new SimpleAlgorithmFactory(mastermind);
-        }
-        else
-        {
-            throw new MastermindException();
-        }
-        return factory;
-    }
-
-    private void reportError(final RuntimeException exc)
-    {
-        try
-        {
-            writer.write(exc.getClass().toString() + "\n");
-            writer.flush();
-        }
-        catch (IOException e)
-        {
-            e.printStackTrace(); // NOPMD
-        }
-    }
-
-    /**
-     * Runs the command line program. Creates a new Main instance with the passed arguments and
-     * console reader and writer and call its {@link #run()} method.
-     * 
-     * @param args The program arguments.
-     * @throws UnsupportedEncodingException
-     */
-    public static void main(final String[] args) throws UnsupportedEncodingException
-    {
-        final InputStreamReader reader = new InputStreamReader(System.in, "UTF-8");
-        final OutputStreamWriter writer = new OutputStreamWriter(System.out, "UTF-8");
-        new Main(args, reader, writer).run();
-    }
-
-}
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.util.Arrays;
+
+import com.stoyanr.util.Arguments;
+import com.stoyanr.util.ArgumentsException;
+
+/**
+ * A simple command line program to test and demonstrate the capabilities of this package. See <a
+ * href="https://github.com/stoyanr/Masterminder/wiki">Masterminder Wiki</a> for more information.
+ * 
+ * @author Stoyan Rachev
+ */
+public class Main
+{
+    private static final String ARG_ALPHABET = "a";
+    private static final String ARG_LENGTH = "l";
+    private static final String ARG_UNIQUE_CHARS = "u";
+    private static final String ARG_MAX_ROUNDS = "r";
+    private static final String ARG_ALG = "s";
+    private static final String ARG_PRECALC_LEVELS = "p";
+    private static final String ARG_MODE = "m";
+    private static final String ARG_SCORE_TABLE = "t";
+    private static final String ARG_THREADS = "j";
+    private static final String ARG_CACHE_DIR = "c";
+    private static final String ARG_COMPILE = "x";
+    private static final String ARG_SAMPLES = "n";
+    private static final String ARG_TIMEOUT = "d";
+    private static final String ARG_LAZY = "z";
+    private static final String ARGS_SCHEMA = ARG_ALPHABET + "*," + ARG_LENGTH + "#,"
+        + ARG_UNIQUE_CHARS + "!," + ARG_MAX_ROUNDS + "#," + ARG_ALG + "*," + ARG_PRECALC_LEVELS
+        + "#," + ARG_MODE + "*," + ARG_SCORE_TABLE + "!," + ARG_THREADS + "#," + ARG_CACHE_DIR
+        + "*," + ARG_COMPILE + "!," + ARG_SAMPLES + "#," + ARG_TIMEOUT + "#," + ARG_LAZY + "!";
+
+    private static final String ALG_SIMPLE = "simple";
+    private static final String ALG_KNUTH = "knuth";
+    private static final String ALG_EXP_SIZE = "exp_size";
+    private static final String ALG_OPTIMAL = "optimal";
+
+    private static final String MODE_PLAY = "play";
+    private static final String MODE_EVALUATE = "eval";
+    private static final String MODE_EVALUATE_TREE = "eval_tree";
+
+    private static final String DEFAULT_ALPHABET = "ABCDEF";
+    private static final int DEFAULT_LENGTH = 4;
+    private static final boolean DEFAULT_UNIQUE_CHARS = false;
+    private static final int DEFAULT_MAX_ROUNDS = 7;
+    private static final String DEFAULT_ALG = ALG_SIMPLE;
+    private static final int DEFAULT_PRECALC_LEVELS = 1;
+    private static final String DEFAULT_MODE = MODE_PLAY;
+    private static final boolean DEFAULT_SCORE_TABLE = false;
+    private static final int DEFAULT_THREADS = 1;
+    private static final String DEFAULT_CACHE_DIR = "";
+    private static final boolean DEFAULT_COMPILE = false;
+    private static final int DEFAULT_SAMPLES = 0;
+    private static final int DEFAULT_TIMEOUT = 0;
+    private static final boolean DEFAULT_LAZY = false;
+    private static final long SEED = 0L;
+    private static final String CACHE_SAMPLES_SEPARATOR = "-";
+
+    private final transient String[] args;
+    private final transient Reader reader;
+    private final transient Writer writer;
+
+    private transient String alphabet;
+    private transient int length;
+    private transient boolean uniqueChars;
+    private transient int maxRounds;
+    private transient String alg;
+    private transient int precalcLevels;
+    private transient String mode;
+    private transient boolean scoreTable;
+    private transient int threads;
+    private transient String cacheDir;
+    private transient boolean compile;
+    private transient int samples;
+    private transient int timeout;
+    private transient boolean lazy;
+
+    Main(final String[] args, final Reader reader, final Writer writer)
+    {
+        assert (args != null && reader != null && writer != null);
+        this.args = Arrays.copyOf(args, args.length);
+        this.reader = reader;
+        this.writer = writer;
+        initialize();
+    }
+
+    private void initialize()
+    {
+        try
+        {
+            final Arguments arguments = new Arguments(ARGS_SCHEMA, args);
+            alphabet = arguments.getString(ARG_ALPHABET, DEFAULT_ALPHABET);
+            length = arguments.getInt(ARG_LENGTH, DEFAULT_LENGTH);
+            uniqueChars = arguments.getBoolean(ARG_UNIQUE_CHARS, DEFAULT_UNIQUE_CHARS);
+            maxRounds = arguments.getInt(ARG_MAX_ROUNDS, DEFAULT_MAX_ROUNDS);
+            alg = arguments.getString(ARG_ALG, DEFAULT_ALG);
+            precalcLevels = arguments.getInt(ARG_PRECALC_LEVELS, DEFAULT_PRECALC_LEVELS);
+            mode = arguments.getString(ARG_MODE, DEFAULT_MODE);
+            scoreTable = arguments.getBoolean(ARG_SCORE_TABLE, DEFAULT_SCORE_TABLE);
+            threads = arguments.getInt(ARG_THREADS, DEFAULT_THREADS);
+            cacheDir = arguments.getString(ARG_CACHE_DIR, DEFAULT_CACHE_DIR);
+            compile = arguments.getBoolean(ARG_COMPILE, DEFAULT_COMPILE);
+            samples = arguments.getInt(ARG_SAMPLES, DEFAULT_SAMPLES);
+            timeout = arguments.getInt(ARG_TIMEOUT, DEFAULT_TIMEOUT);
+            lazy = arguments.getBoolean(ARG_LAZY, DEFAULT_LAZY);
+        }
+        catch (ArgumentsException e)
+        {
+            reportError(e);
+        }
+    }
+
+    /**
+     * Runs the program.
+     */
+    public final void run()
+    {
+        try
+        {
+            if (mode.equals(MODE_PLAY))
+            {
+                playGame();
+            }
+            else if (mode.equals(MODE_EVALUATE))
+            {
+                evaluateAlgorithm(false);
+            }
+            else if (mode.equals(MODE_EVALUATE_TREE))
+            {
+                evaluateAlgorithm(true);
+            }
+        }
+        catch (final MastermindException e)
+        {
+            reportError(e);
+        }
+    }
+
+    private void playGame()
+    {
+        final Mastermind mastermind = createMastermind();
+        final AlgorithmFactory factory =
+            createCompiledFactory(mastermind, createParallelFactory(createFactory(mastermind)));
+        final Algorithm algorithm = factory.getAlgorithm();
+        final Player player = new ReaderWriterPlayer(mastermind, reader, writer);
+        final GuessCalculator calc = createCalculator(mastermind, factory, 1, false);
+        final Game game = new Game(mastermind, algorithm, maxRounds, player, calc);
+        game.setTimeout(timeout);
+        game.play();
+    }
+
+    private void evaluateAlgorithm(final boolean treeWalk)
+    {
+        final Mastermind mastermind = createMastermind();
+        final AlgorithmFactory factory =
+            createCompiledFactory(mastermind, createFactory(mastermind));
+        final GuessCalculator calc =
+            createCalculator(mastermind, factory, Math.max(threads, 1), true);
+        final AlgorithmEvaluator eval = new AlgorithmEvaluator(mastermind, factory, calc);
+        eval.setThreads(Math.max(threads, 1));
+        eval.setTreeWalk(treeWalk);
+        eval.evaluate();
+    }
+
+    private Mastermind createMastermind()
+    {
+        final Mastermind mastermind = new Mastermind(alphabet, length, uniqueChars);
+        if (scoreTable)
+        {
+            mastermind.initScoreTable();
+        }
+        return mastermind;
+    }
+
+    // @checkstyle:off (Too many parameters)
+    private GuessCalculator createCalculator(final Mastermind mastermind,
+        final AlgorithmFactory factory, final int calcThreads, final boolean fillCache)
+    // @checkstyle:on
+    {
+        GuessCalculator calc = null;
+        if (lazy)
+        {
+            if (!cacheDir.isEmpty())
+            {
+                throw new MastermindException();
+            }
+            calc = GuessCalculator.createLazy(mastermind, factory, precalcLevels);
+        }
+        else if (!cacheDir.isEmpty())
+        {
+            final GuessCalculatorCache cache =
+                new GuessCalculatorCache(new File(cacheDir), getCacheAlgorithm());
+            cache.setThreads(calcThreads);
+            // Games only read the cache, so a missing opening book never delays the first move
+            calc = fillCache ? cache.getCalculator(mastermind, factory, precalcLevels)
+                : cache.findCalculator(mastermind, factory, precalcLevels);
+        }
+        if (calc == null)
+        {
+            calc = new GuessCalculator(mastermind, factory, precalcLevels, calcThreads);
+        }
+        return calc;
+    }
+
+    private String getCacheAlgorithm()
+    {
+        return (samples > 0) ? alg + CACHE_SAMPLES_SEPARATOR + samples : alg;
+    }
+
+    private AlgorithmFactory createFactory(final Mastermind mastermind)
+    {
+        final AlgorithmFactory factory = createAlgorithmFactory(mastermind);
+        return (samples > 0) ? new SamplingAlgorithmFactory(factory, samples, samples, SEED)
+            : factory;
+    }
+
+    private AlgorithmFactory createAlgorithmFactory(final Mastermind mastermind)
+    {
+        AlgorithmFactory factory;
+        if (alg.equals(ALG_KNUTH))
+        {
+            factory = new KnuthAlgorithmFactory(mastermind);
+        }
+        else if (alg.equals(ALG_EXP_SIZE))
+        {
+            factory = new ExpectedSizeAlgorithmFactory(mastermind);
+        }
+        else if (alg.equals(ALG_SIMPLE))
+        {
+            factory = new SimpleAlgorithmFactory(mastermind);
+        }
+        else if (alg.equals(ALG_OPTIMAL))
+        {
+            final OptimalStrategySolver solver = new OptimalStrategySolver(mastermind);
+            solver.setThreads(Math.max(threads, 1));
+            factory = new StrategyAlgorithmFactory(mastermind, solver.solve());
+        }
+        else
+        {
+            throw new MastermindException();
+        }
+        return factory;
+    }
+
+    private AlgorithmFactory createParallelFactory(final AlgorithmFactory factory)
+    {
+        return (threads > 1) ? new ParallelAlgorithmFactory(factory, threads) : factory;
+    }
+
+    private AlgorithmFactory createCompiledFactory(final Mastermind mastermind,
+        final AlgorithmFactory factory)
+    {
+        AlgorithmFactory result = factory;
+        if (compile)
+        {
+            final int rounds = Math.max(maxRounds, AlgorithmEvaluator.MAX_ROUNDS);
+            final StrategyTree tree = new StrategyCompiler(mastermind, factory, rounds).compile();
+            result = new StrategyAlgorithmFactory(mastermind, tree);
+        }
+        return result;
+    }
+
+    private void reportError(final RuntimeException exc)
+    {
+        try
+        {
+            writer.write(exc.getClass().toString() + "\n");
+            writer.flush();
+        }
+        catch (IOException e)
+        {
+            e.printStackTrace(); // NOPMD
+        }
+    }
+
+    /**
+     * Runs the command line program. Creates a new Main instance with the passed arguments and
+     * console reader and writer and call its {@link #run()} method.
+     * 
+     * @param args The program arguments.
+     * @throws UnsupportedEncodingException
+     */
+    public static void main(final String[] args) throws UnsupportedEncodingException
+    {
+        final InputStreamReader reader = new InputStreamReader(System.in, "UTF-8");
+        final OutputStreamWriter writer = new OutputStreamWriter(System.out, "UTF-8");
+        new Main(args, reader, writer).run();
+    }
+
+}
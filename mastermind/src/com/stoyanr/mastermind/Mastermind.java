@@ -1,442 +1,831 @@
-/*
- * $Id: $
- *
- * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- * 
- *     http://www.apache.org/licenses/LICENSE-2.0
- * 
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-package com.stoyanr.mastermind;
-
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Random;
-import java.util.Set;
-import java.util.SortedSet;
-import java.util.TreeSet;
-
-/**
- * A particular Mastermind game setup. The game setup is generalized to cover "Mastermind",
- * "Bulls and Cows", and all their variants one can imagine by introducing the following game
- * parameters:
- * <ul>
- * <li>The alphabet of possible code characters.</li>
- * <li>The length of the combination.</li>
- * <li>Whether the characters of the combination must be unique or not (uniqueChars).</li>
- * </ul>
- * 
- * <p>
- * For "Mastermind" and "Bulls and Cows" these parameters have the following values:
- * <table>
- * <tr>
- * <th>Game</th>
- * <th>alphabet</th>
- * <th>length</th>
- * <th>uniqueChars</th>
- * </tr>
- * <tr>
- * <td>Mastermind</td>
- * <td>ABCDEF</td>
- * <td>4</td>
- * <td>false</td>
- * </tr>
- * <tr>
- * <td>Bulls and Cows</td>
- * <td>0123456789</td>
- * <td>4</td>
- * <td>true</td>
- * </tr>
- * </table>
- * 
- * <p>
- * These three parameters are initialized upon construction and used to calculate other parameters
- * of the game setup, such as all valid codes and scores (or "answers"). This class also provides
- * methods for determining code and score validity, for evaluating how a given guess scores against
- * a given code, for visiting all valid codes, and others.
- * 
- * @author Stoyan Rachev
- */
-public class Mastermind
-{
-    public static final int MAX_LENGTH = 9;
-    public static final String VALID_ALPHABET_CHARS = "0123456789ABCDEFGH";
-
-    private static final Random RANDOM = new Random();
-    private static final char MARK = '*';
-
-    private final transient String alphabet;
-    private final transient int length;
-    private final transient boolean uniqueChars;
-
-    private final transient List<Score> allPossibleScores;
-    private final transient SortedSet<String> allPossibleCodes;
-
-    /**
-     * Creates a new Mastermind game setup with the specified alphabet, length, and character
-     * uniqueness.
-     * 
-     * @param alphabet The alphabet of possible code characters, should contain unique characters
-     * from the set "0123456789ABCDEFGH". The length of the alphabet should be greater or equal to
-     * the <code>length</code> parameter.
-     * @param length The combination length, an integer number in the range [1, 9].
-     * @param uniqueChars Whether the characters of the combination must be unique or not.
-     */
-    public Mastermind(final String alphabet, final int length, final boolean uniqueChars)
-    {
-        if (!isValidLength(length) || !isValidAlphabet(alphabet, length))
-        {
-            throw new MastermindException();
-        }
-        this.alphabet = alphabet;
-        this.length = length;
-        this.uniqueChars = uniqueChars;
-        this.allPossibleScores = calcAllPossibleScores();
-        this.allPossibleCodes = calcAllPossibleCodes();
-    }
-
-    private static boolean isValidLength(final int length)
-    {
-        return ((length > 0) && (length <= MAX_LENGTH));
-    }
-
-    private static boolean isValidAlphabet(final String alphabet, final int length)
-    {
-        // @formatter:off
-        return ((alphabet != null) 
-            && (alphabet.length() > 1) && (alphabet.length() >= length) 
-            && containsValidChars(alphabet, VALID_ALPHABET_CHARS, true));
-        // @formatter:on
-    }
-
-    private static boolean containsValidChars(final String string, final String validChars,
-        final boolean uniqueChars)
-    {
-        boolean result = true;
-        final Set<Character> usedChars = new HashSet<Character>();
-        for (int i = 0; i < string.length(); i++)
-        {
-            final char chi = string.charAt(i);
-            if (validChars.indexOf(chi) == -1 || (uniqueChars && usedChars.contains(chi)))
-            {
-                result = false;
-                break;
-            }
-            if (uniqueChars)
-            {
-                usedChars.add(chi);
-            }
-        }
-        return result;
-    }
-
-    private List<Score> calcAllPossibleScores()
-    {
-        final List<Score> result = new ArrayList<Score>();
-        for (int bulls = 0; bulls < length + 1; bulls++)
-        {
-            final int maxCows = length - bulls;
-            int minCows = 0;
-            if (uniqueChars)
-            {
-                minCows = Math.max((length - bulls - (alphabet.length() - length)), 0);
-            }
-            for (int cows = minCows; cows < maxCows + 1; cows++)
-            {
-                if ((bulls == length - 1) && (cows == 1))
-                {
-                    continue;
-                }
-                result.add(new Score(cows, bulls));
-            }
-        }
-        return result;
-    }
-
-    private SortedSet<String> calcAllPossibleCodes()
-    {
-        final SortedSet<String> result = new TreeSet<String>();
-        visitCodes(new CodeVisitor()
-        {
-            @Override
-            public void visit(final String code)
-            {
-                final boolean added = result.add(code);
-                assert added;
-            }
-        });
-        return result;
-    }
-
-    /**
-     * Returns a list containing all possible scores (or answers) for the current game setup. This
-     * list has been previously evaluated upon construction. For example, for the setup [AB, 2,
-     * false], the list of possible scores is [(2,0), (0,2)]
-     * 
-     * @return All possible scores for the current game setup.
-     */
-    public final List<Score> getAllPossibleScores()
-    {
-        return allPossibleScores;
-    }
-
-    /**
-     * Returns a set containing all possible (valid) codes for the current game setup. This set has
-     * been previously evaluated upon construction. For example, for the setup [AB, 2, false], the
-     * set of possible codes is [AB, BA]
-     * 
-     * @return All possible (valid) codes for the current game setup, sorted alphabetically.
-     */
-    public final SortedSet<String> getAllPossibleCodes()
-    {
-        return allPossibleCodes;
-    }
-
-    /**
-     * Determines if the passed code is valid for the current game setup. A code is considered valid
-     * if it is not null, is of the correct length, and contains only characters from the alphabet.
-     * The character uniqueness is also taken into account. For example, for the setup [AB, 2,
-     * false], the only valid codes are AB and BA.
-     * 
-     * @return true if the passed code is valid, false otherwise.
-     */
-    public final boolean isValidCode(final String code)
-    {
-        return ((code != null) && (code.length() == length) && containsValidChars(code, alphabet,
-            uniqueChars));
-    }
-
-    /**
-     * Determines if the passed score is valid for the current game setup. A score is considered
-     * valid if it can be found in the previously evaluated set of all possible scores. For example,
-     * for the setup [AB, 2, false], the only valid scores are (2,0) and (0,2).
-     * 
-     * @return true if the passed score is valid, false otherwise.
-     */
-    public final boolean isValidScore(final Score score)
-    {
-        return ((score != null) && allPossibleScores.contains(score));
-    }
-
-    /**
-     * Generates a random valid code for the current game setup.
-     * 
-     * @return A random code for the current game setup.
-     */
-    public final String generateCode()
-    {
-        final StringBuilder builder = new StringBuilder();
-        final Set<Character> usedChars = new HashSet<Character>();
-        for (int i = 0; i < length; i++)
-        {
-            char chi;
-            do
-            {
-                final int index = RANDOM.nextInt(alphabet.length());
-                chi = alphabet.charAt(index);
-            }
-            while (uniqueChars && usedChars.contains(chi));
-            if (uniqueChars)
-            {
-                usedChars.add(chi);
-            }
-            builder.append(chi);
-        }
-        final String result = builder.toString();
-        assert isValidCode(result);
-        return result;
-    }
-
-    /**
-     * Returns the winning score for the current game setup, that is a score with 0 cows and
-     * <code>length</code> bulls. For example, for the setup [AB, 2, false], the winning score is
-     * (0,2).
-     * 
-     * @return The winning score for the current game setup.
-     */
-    public final Score getWinningScore()
-    {
-        return new Score(0, length);
-    }
-
-    /**
-     * Evaluates how the passed guess scores against the passed code in the current game setup.
-     * Throws an exception if either the guess or the code are not valid codes for the current game
-     * setup. For example, for the setup [AB, 2, false], BA scores against AB as (2,0), while AB
-     * scores against AB as (0,2).
-     * 
-     * @param guess The guess to be checked.
-     * @param code The code against which the guess should be checked.
-     * @return The score of the guess against the code.
-     * @throws MastermindException If either the guess or the code are not valid codes for the
-     * current game setup.
-     * @see #evaluateScore(String, String)
-     */
-    public final Score evaluateScoreSafe(final String guess, final String code)
-    {
-        if ((!isValidCode(guess) || !isValidCode(code)))
-        {
-            throw new MastermindException();
-        }
-        return evaluateScore(guess, code);
-    }
-
-    /**
-     * Evaluates how the passed guess scores against the passed code in the current game setup.
-     * Assumes that both the guess and the code are valid codes for the current game setup. For
-     * example, for the setup [AB, 2, false], BA scores against AB as (2,0), while AB scores against
-     * AB as (0,2).
-     * 
-     * @param guess The guess to be checked.
-     * @param code The code against which the guess should be checked.
-     * @return The score of the guess against the code.
-     * @see #evaluateScoreSafe(String, String)
-     */
-    public final Score evaluateScore(final String guess, final String code)
-    {
-        assert (isValidCode(guess) && isValidCode(code));
-        Score result;
-        if (uniqueChars)
-        {
-            result = evaluateScoreUniqueChars(guess, code);
-        }
-        else
-        {
-            result = evaluateScoreNonUniqueChars(guess, code);
-        }
-        assert isValidScore(result);
-        return result;
-    }
-
-    private Score evaluateScoreUniqueChars(final String guess, final String code)
-    {
-        int cows = 0, bulls = 0;
-        for (int i = 0; i < guess.length(); i++)
-        {
-            final char chi = guess.charAt(i);
-            if (code.charAt(i) == chi)
-            {
-                bulls++;
-            }
-            else if (code.indexOf(chi) != -1)
-            {
-                cows++;
-            }
-        }
-        return new Score(cows, bulls);
-    }
-
-    private Score evaluateScoreNonUniqueChars(final String guess, final String code)
-    {
-        int cows = 0, bulls = 0;
-        final char[] guessChars = guess.toCharArray(), codeChars = code.toCharArray();
-        for (int i = 0; i < length; i++)
-        {
-            if (codeChars[i] == guessChars[i])
-            {
-                bulls++;
-                guessChars[i] = MARK;
-                codeChars[i] = MARK;
-            }
-        }
-        for (int i = 0; i < length; i++)
-        {
-            if (guessChars[i] != MARK)
-            {
-                for (int j = 0; j < length; j++)
-                {
-                    if (codeChars[j] == guessChars[i])
-                    {
-                        cows++;
-                        codeChars[j] = MARK;
-                        break;
-                    }
-                }
-            }
-        }
-        return new Score(cows, bulls);
-    }
-
-    /**
-     * Determines all codes from the passed codes against which the passed guess evaluates as the
-     * passed score. Assumes that both the guess and the score are valid for the current game setup.
-     * For example, for the setup [AB, 2, false], for the guess BA, the score (2,0) and the set of
-     * all possible codes, the returned set will contain only AB.
-     * 
-     * @param guess The guess to be checked.
-     * @param score The score that we are aiming at.
-     * @param codes The codes against which the guess should be checked.
-     * @return All codes which satisfy the above conditions, sorted alphabetically.
-     */
-    public final SortedSet<String> evaluatePossibleCodes(final String guess, final Score score,
-        final SortedSet<String> codes)
-    {
-        assert (isValidCode(guess) && isValidScore(score));
-        final SortedSet<String> result = new TreeSet<String>();
-        for (final String code : codes)
-        {
-            final Score evaluatedScore = evaluateScore(guess, code);
-            if (evaluatedScore.equals(score))
-            {
-                result.add(code);
-            }
-        }
-        return result;
-    }
-
-    /**
-     * Visits all valid codes for the current game setup. These codes are passed to the
-     * <code>visit()</code> method of the passed visitor.
-     * 
-     * @param visitor The visitor.
-     */
-    public final void visitCodes(final CodeVisitor visitor)
-    {
-        assert (visitor != null);
-        visitCodes(new char[length], 0, visitor);
-    }
-
-    private void visitCodes(final char[] chars, final int index, final CodeVisitor visitor)
-    {
-        for (int i = 0; i < alphabet.length(); i++)
-        {
-            chars[index] = alphabet.charAt(i);
-            if (uniqueChars && isDuplicateCharAtIndex(chars, index))
-            {
-                continue;
-            }
-            if (index == length - 1)
-            {
-                visitor.visit(new String(chars));
-            }
-            else
-            {
-                visitCodes(chars, index + 1, visitor);
-            }
-        }
-    }
-
-    private static boolean isDuplicateCharAtIndex(final char[] chars, final int index)
-    {
-        boolean duplicate = false;
-        for (int i = 0; i < index; i++)
-        {
-            if (chars[index] == chars[i])
-            {
-                duplicate = true;
-                break;
-            }
-        }
-        return duplicate;
-    }
-
-}
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+
+/**
+ * A particular Mastermind game setup. The game setup is generalized to cover "Mastermind",
+ * "Bulls and Cows", and all their variants one can imagine by introducing the following game
+ * parameters:
+ * <ul>
+ * <li>The alphabet of possible code characters.</li>
+ * <li>The length of the combination.</li>
+ * <li>Whether the characters of the combination must be unique or not (uniqueChars).</li>
+ * </ul>
+ * 
+ * <p>
+ * For "Mastermind" and "Bulls and Cows" these parameters have the following values:
+ * <table>
+ * <tr>
+ * <th>Game</th>
+ * <th>alphabet</th>
+ * <th>length</th>
+ * <th>uniqueChars</th>
+ * </tr>
+ * <tr>
+ * <td>Mastermind</td>
+ * <td>ABCDEF</td>
+ * <td>4</td>
+ * <td>false</td>
+ * </tr>
+ * <tr>
+ * <td>Bulls and Cows</td>
+ * <td>0123456789</td>
+ * <td>4</td>
+ * <td>true</td>
+ * </tr>
+ * </table>
+ * 
+ * <p>
+ * These three parameters are initialized upon construction and used to calculate other parameters
+ * of the game setup, such as all valid codes and scores (or "answers"). This class also provides
+ * methods for determining code and score validity, for evaluating how a given guess scores against
+ * a given code, for visiting all valid codes, and others.
+ * 
+ * <p>
+ * Internally, all valid codes form a {@link CodeSpace}, which is materialized into a {@link
+ * CodeTable} upon the first invocation of {@link #getCodes()} or {@link #getAllCodes()}. Setups
+ * that are too large for a table can still be constructed, and their codes can be visited and
+ * sampled through the code space. Most operations are also available in a variant working with
+ * code indexes in the table instead of strings. These variants are used in the performance
+ * critical parts of the algorithms, while the string variants are intended mainly for players and
+ * the command line interface. Scores of code indexes are evaluated by a {@link ScoreKernel} if the
+ * setup is supported by it, and character by character otherwise.
+ * 
+ * @author Stoyan Rachev
+ */
+public class Mastermind
+{
+    public static final int MAX_LENGTH = 9;
+    public static final String VALID_ALPHABET_CHARS = "0123456789ABCDEFGH";
+
+    private static final Random RANDOM = new Random();
+
+    private final transient String alphabet;
+    private final transient int length;
+    private final transient boolean uniqueChars;
+
+    private final transient Scores scores;
+    private final transient CodeSpace space;
+    private final transient Object lock = new Object();
+
+    private transient volatile CodeTable codes;
+    private transient ScoreKernel kernel;
+    private transient volatile CodeSet allCodes;
+    private transient volatile GuessSymmetry symmetry;
+
+    private transient SortedSet<String> allPossibleCodes;
+    private transient volatile ScoreTable scoreTable;
+
+    /**
+     * Creates a new Mastermind game setup with the specified alphabet, length, and character
+     * uniqueness.
+     * 
+     * @param alphabet The alphabet of possible code characters, should contain unique characters
+     * from the set "0123456789ABCDEFGH". The length of the alphabet should be greater or equal to
+     * the <code>length</code> parameter.
+     * @param length The combination length, an integer number in the range [1, 9].
+     * @param uniqueChars Whether the characters of the combination must be unique or not.
+     */
+    public Mastermind(final String alphabet, final int length, final boolean uniqueChars)
+    {
+        if (!isValidLength(length) || !isValidAlphabet(alphabet, length))
+        {
+            throw new MastermindException();
+        }
+        this.alphabet = alphabet;
+        this.length = length;
+        this.uniqueChars = uniqueChars;
+        this.scores = new Scores(alphabet.length(), length, uniqueChars);
+        this.space = new CodeSpace(alphabet, length, uniqueChars);
+    }
+
+    private static boolean isValidLength(final int length)
+    {
+        return ((length > 0) && (length <= MAX_LENGTH));
+    }
+
+    private static boolean isValidAlphabet(final String alphabet, final int length)
+    {
+        // @formatter:off
+        return ((alphabet != null) 
+            && (alphabet.length() > 1) && (alphabet.length() >= length) 
+            && containsValidChars(alphabet, VALID_ALPHABET_CHARS, true));
+        // @formatter:on
+    }
+
+    private static boolean containsValidChars(final String string, final String validChars,
+        final boolean uniqueChars)
+    {
+        boolean result = true;
+        final Set<Character> usedChars = new HashSet<Character>();
+        for (int i = 0; i < string.length(); i++)
+        {
+            final char chi = string.charAt(i);
+            if (validChars.indexOf(chi) == -1 || (uniqueChars && usedChars.contains(chi)))
+            {
+                result = false;
+                break;
+            }
+            if (uniqueChars)
+            {
+                usedChars.add(chi);
+            }
+        }
+        return result;
+    }
+
+    private SortedSet<String> calcAllPossibleCodes()
+    {
+        final SortedSet<String> result = new TreeSet<String>();
+        visitCodes(new CodeVisitor()
+        {
+            @Override
+            public void visit(final String code)
+            {
+                final boolean added = result.add(code);
+                assert added;
+            }
+        });
+        return Collections.unmodifiableSortedSet(result);
+    }
+
+    /**
+     * Returns the alphabet of possible code characters for the current game setup.
+     * 
+     * @return The alphabet.
+     */
+    public final String getAlphabet()
+    {
+        return alphabet;
+    }
+
+    /**
+     * Returns the combination length for the current game setup.
+     * 
+     * @return The combination length.
+     */
+    public final int getLength()
+    {
+        return length;
+    }
+
+    /**
+     * Returns whether the characters of the combination must be unique or not for the current game
+     * setup.
+     * 
+     * @return true if the characters must be unique, false otherwise.
+     */
+    public final boolean hasUniqueChars()
+    {
+        return uniqueChars;
+    }
+
+    /**
+     * Returns a list containing all possible scores (or answers) for the current game setup. This
+     * list has been previously evaluated upon construction. For example, for the setup [AB, 2,
+     * false], the list of possible scores is [(2,0), (0,2)]
+     * 
+     * @return All possible scores for the current game setup.
+     */
+    public final List<Score> getAllPossibleScores()
+    {
+        return scores.getAll();
+    }
+
+    /**
+     * Returns the index of the passed score in the list returned by {@link
+     * #getAllPossibleScores()}, or -1 if the score is not valid for the current game setup.
+     * 
+     * @param score The score to look up.
+     * @return The index of the passed score, or -1 if the score is not valid.
+     */
+    public final int getScoreIndex(final Score score)
+    {
+        return scores.getIndex(score);
+    }
+
+    /**
+     * Returns a set containing all possible (valid) codes for the current game setup. This set is
+     * evaluated upon the first invocation of this method. For example, for the setup [AB, 2,
+     * false], the set of possible codes is [AB, BA]
+     * 
+     * @return All possible (valid) codes for the current game setup, sorted alphabetically.
+     */
+    public final SortedSet<String> getAllPossibleCodes()
+    {
+        synchronized (lock)
+        {
+            if (allPossibleCodes == null)
+            {
+                allPossibleCodes = calcAllPossibleCodes();
+            }
+            return allPossibleCodes;
+        }
+    }
+
+    /**
+     * Returns the space of all possible (valid) codes for the current game setup. Unlike the table
+     * returned by {@link #getCodes()}, the space is available for all setups, regardless of their
+     * size.
+     * 
+     * @return The space of all possible codes for the current game setup.
+     */
+    public final CodeSpace getCodeSpace()
+    {
+        return space;
+    }
+
+    /**
+     * Returns the table of all possible (valid) codes for the current game setup. This table is
+     * evaluated upon the first invocation of this method or {@link #getAllCodes()}. The codes in
+     * the table are sorted alphabetically, in the same order as in {@link #getAllPossibleCodes()}.
+     * 
+     * @return The table of all possible codes for the current game setup.
+     * @throws MastermindException If the setup has too many codes to fit in a table.
+     */
+    public final CodeTable getCodes()
+    {
+        CodeTable result = codes;
+        if (result == null)
+        {
+            initCodes();
+            result = codes;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the set of all possible (valid) codes for the current game setup, as indexes in the
+     * table returned by {@link #getCodes()}. This set is evaluated together with the table. Since
+     * it is immutable, it is shared by all algorithms using this setup as their initial set of
+     * possible codes.
+     * 
+     * @return The set of all possible codes for the current game setup.
+     * @throws MastermindException If the setup has too many codes to fit in a table.
+     */
+    public final CodeSet getAllCodes()
+    {
+        CodeSet result = allCodes;
+        if (result == null)
+        {
+            initCodes();
+            result = allCodes;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the guess symmetry for the current game setup. It is created upon the first
+     * invocation of this method, and is shared by all algorithms using this setup.
+     * 
+     * @return The guess symmetry for the current game setup.
+     * @throws MastermindException If the setup has too many codes to fit in a table.
+     */
+    public final GuessSymmetry getGuessSymmetry()
+    {
+        GuessSymmetry result = symmetry;
+        if (result == null)
+        {
+            synchronized (lock)
+            {
+                if (symmetry == null)
+                {
+                    symmetry = new GuessSymmetry(this);
+                }
+                result = symmetry;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the scoring kernel for the current game setup, or null if the setup is not supported
+     * by {@link ScoreKernel}. The kernel is created together with the table of all codes.
+     * 
+     * @return The scoring kernel, or null if the setup is not supported.
+     * @throws MastermindException If the setup has too many codes to fit in a table.
+     */
+    public final ScoreKernel getScoreKernel()
+    {
+        getCodes();
+        return kernel;
+    }
+
+    private void initCodes()
+    {
+        synchronized (lock)
+        {
+            if (codes == null)
+            {
+                if (space.size() > Integer.MAX_VALUE)
+                {
+                    throw new MastermindException();
+                }
+                final CodeTable table = new CodeTable(space);
+                allCodes = CodeSet.all(table.size());
+                if (ScoreKernel.isSupported(space))
+                {
+                    kernel = new ScoreKernel(table, space, scores);
+                }
+                codes = table;
+            }
+        }
+    }
+
+    /**
+     * Precalculates a {@link ScoreTable} for the current game setup, if this has not already been
+     * done. Once the table is available, {@link #evaluateScore(int, int)} and all operations based
+     * on it become simple table lookups. Since the table is owned by the game setup, it is shared
+     * by all algorithms, guess calculators, and evaluators using this setup.
+     */
+    public final void initScoreTable()
+    {
+        synchronized (lock)
+        {
+            if (scoreTable == null)
+            {
+                scoreTable = new ScoreTable(this);
+            }
+        }
+    }
+
+    /**
+     * Determines if the passed code is valid for the current game setup. A code is considered valid
+     * if it is not null, is of the correct length, and contains only characters from the alphabet.
+     * The character uniqueness is also taken into account. For example, for the setup [AB, 2,
+     * false], the only valid codes are AB and BA.
+     * 
+     * @return true if the passed code is valid, false otherwise.
+     */
+    public final boolean isValidCode(final String code)
+    {
+        return ((code != null) && (code.length() == length) && containsValidChars(code, alphabet,
+            uniqueChars));
+    }
+
+    /**
+     * Determines if the passed score is valid for the current game setup. A score is considered
+     * valid if it can be found in the previously evaluated set of all possible scores. For example,
+     * for the setup [AB, 2, false], the only valid scores are (2,0) and (0,2).
+     * 
+     * @return true if the passed score is valid, false otherwise.
+     */
+    public final boolean isValidScore(final Score score)
+    {
+        return ((score != null) && (getScoreIndex(score) != -1));
+    }
+
+    /**
+     * Generates a random valid code for the current game setup.
+     * 
+     * @return A random code for the current game setup.
+     */
+    public final String generateCode()
+    {
+        final StringBuilder builder = new StringBuilder();
+        final Set<Character> usedChars = new HashSet<Character>();
+        for (int i = 0; i < length; i++)
+        {
+            char chi;
+            do
+            {
+                final int index = RANDOM.nextInt(alphabet.length());
+                chi = alphabet.charAt(index);
+            }
+            while (uniqueChars && usedChars.contains(chi));
+            if (uniqueChars)
+            {
+                usedChars.add(chi);
+            }
+            builder.append(chi);
+        }
+        final String result = builder.toString();
+        assert isValidCode(result);
+        return result;
+    }
+
+    /**
+     * Returns the winning score for the current game setup, that is a score with 0 cows and
+     * <code>length</code> bulls. For example, for the setup [AB, 2, false], the winning score is
+     * (0,2).
+     * 
+     * @return The winning score for the current game setup.
+     */
+    public final Score getWinningScore()
+    {
+        return scores.get(scores.getWinningIndex());
+    }
+
+    /**
+     * Returns true if the passed score is the winning score for the current game setup.
+     * 
+     * @param score The score to be checked.
+     * @return true if the score is the winning score, false otherwise.
+     */
+    public final boolean isWinningScore(final Score score)
+    {
+        assert (score != null);
+        return (score.getBulls() == length);
+    }
+
+    /**
+     * Returns the interned score with the passed number of cows and bulls, or null if this is not
+     * a valid score for the current game setup. All scores returned by this class are interned, so
+     * no new score objects are created.
+     * 
+     * @param cows The number of cows.
+     * @param bulls The number of bulls.
+     * @return The interned score, or null if the score is not valid.
+     */
+    public final Score getScore(final int cows, final int bulls)
+    {
+        return scores.get(cows, bulls);
+    }
+
+    /**
+     * Evaluates how the passed guess scores against the passed code in the current game setup.
+     * Throws an exception if either the guess or the code are not valid codes for the current game
+     * setup. For example, for the setup [AB, 2, false], BA scores against AB as (2,0), while AB
+     * scores against AB as (0,2).
+     * 
+     * @param guess The guess to be checked.
+     * @param code The code against which the guess should be checked.
+     * @return The score of the guess against the code.
+     * @throws MastermindException If either the guess or the code are not valid codes for the
+     * current game setup.
+     * @see #evaluateScore(String, String)
+     */
+    public final Score evaluateScoreSafe(final String guess, final String code)
+    {
+        if ((!isValidCode(guess) || !isValidCode(code)))
+        {
+            throw new MastermindException();
+        }
+        return evaluateScore(guess, code);
+    }
+
+    /**
+     * Evaluates how the passed guess scores against the passed code in the current game setup.
+     * Assumes that both the guess and the code are valid codes for the current game setup. For
+     * example, for the setup [AB, 2, false], BA scores against AB as (2,0), while AB scores against
+     * AB as (0,2).
+     * 
+     * @param guess The guess to be checked.
+     * @param code The code against which the guess should be checked.
+     * @return The score of the guess against the code.
+     * @see #evaluateScoreSafe(String, String)
+     */
+    public final Score evaluateScore(final String guess, final String code)
+    {
+        assert (isValidCode(guess) && isValidCode(code));
+        return evaluatePackedScore(space.pack(guess), space.pack(code));
+    }
+
+    /**
+     * Evaluates how the guess with the passed index scores against the code with the passed index
+     * in the current game setup. This is the index variant of {@link #evaluateScore(String,
+     * String)}. The returned score is one of the scores in {@link #getAllPossibleScores()}, so no
+     * new objects are created.
+     * 
+     * @param guess The index of the guess to be checked.
+     * @param code The index of the code against which the guess should be checked.
+     * @return The score of the guess against the code.
+     * @see #evaluateScoreIndex(int, int)
+     */
+    public final Score evaluateScore(final int guess, final int code)
+    {
+        return scores.get(evaluateScoreIndex(guess, code));
+    }
+
+    /**
+     * Evaluates how the guess with the passed index scores against the code with the passed index
+     * in the current game setup, and returns the index of the score in the list returned by
+     * {@link #getAllPossibleScores()}. This is the primitive variant of {@link #evaluateScore(int,
+     * int)}, intended for the innermost loops of the algorithms. If a score table has been
+     * precalculated with {@link #initScoreTable()}, the score is simply looked up in the table.
+     * Otherwise, it is evaluated by the {@link ScoreKernel} returned by {@link #getScoreKernel()},
+     * if there is one.
+     * 
+     * @param guess The index of the guess to be checked.
+     * @param code The index of the code against which the guess should be checked.
+     * @return The index of the score of the guess against the code.
+     */
+    public final int evaluateScoreIndex(final int guess, final int code)
+    {
+        final ScoreTable table = scoreTable;
+        final CodeTable codesx = codes;
+        int result;
+        if (table != null)
+        {
+            result = table.getScoreIndex(guess, code);
+        }
+        else if (kernel != null)
+        {
+            result = kernel.evaluateScoreIndex(guess, code);
+        }
+        else
+        {
+            final long packedGuess = codesx.getPacked(guess), packedCode = codesx.getPacked(code);
+            result = evaluateScoreIndexNonUniqueChars(packedGuess, packedCode);
+        }
+        assert (result != -1);
+        return result;
+    }
+
+    /**
+     * Evaluates how the guess with the passed index scores against each of the codes with the
+     * passed indexes, and counts the codes by score. This is the batch variant of {@link
+     * #evaluateScoreIndex(int, int)}, and the primitive on which the partitioning and filtering of
+     * codes by the algorithms is built. The evaluation engine is chosen only once for the whole
+     * batch, and if it is the {@link ScoreKernel}, the guess is also loaded only once.
+     * 
+     * <p>
+     * Element <code>i</code> of the passed histogram is incremented by the number of codes
+     * against which the guess evaluates as the i-th score in the list returned by {@link
+     * #getAllPossibleScores()}, so the histogram should normally be cleared before the call. If
+     * an ordinals array is passed, the index of the score against the i-th code is also written to
+     * its i-th element.
+     * 
+     * @param guess The index of the guess to be checked.
+     * @param codesx The indexes of the codes against which the guess should be checked.
+     * @param histogram The histogram to add the score counts to, at least as long as the list of
+     * all possible scores.
+     * @param ordinals The array to write the score indexes to, at least as long as the codes, or
+     * null if they are not needed.
+     */
+    // @checkstyle:off (Too many parameters)
+    public final void evaluateScores(final int guess, final int[] codesx, final int[] histogram,
+        final byte[] ordinals)
+    // @checkstyle:on
+    {
+        assert (codesx != null && histogram != null && histogram.length >= scores.size());
+        assert (ordinals == null || ordinals.length >= codesx.length);
+        final ScoreKernel kernelx = getScoreKernel();
+        if (scoreTable == null && kernelx != null)
+        {
+            kernelx.evaluateScores(guess, codesx, histogram, ordinals);
+        }
+        else
+        {
+            for (int i = 0; i < codesx.length; i++)
+            {
+                final int index = evaluateScoreIndex(guess, codesx[i]);
+                histogram[index]++;
+                if (ordinals != null)
+                {
+                    ordinals[i] = (byte) index;
+                }
+            }
+        }
+    }
+
+    private Score evaluatePackedScore(final long guess, final long code)
+    {
+        return scores.get(evaluatePackedScoreIndex(guess, code));
+    }
+
+    private int evaluatePackedScoreIndex(final long guess, final long code)
+    {
+        int result;
+        if (uniqueChars)
+        {
+            final int bulls = countBulls(guess, code);
+            final int common = Integer.bitCount(getCharMask(guess) & getCharMask(code));
+            result = scores.getIndex(common - bulls, bulls);
+        }
+        else
+        {
+            result = evaluateScoreIndexNonUniqueChars(guess, code);
+        }
+        return result;
+    }
+
+    private int countBulls(final long guess, final long code)
+    {
+        int bulls = 0;
+        long diff = guess ^ code;
+        for (int i = 0; i < length; i++)
+        {
+            if ((diff & CodeTable.CHAR_MASK) == 0)
+            {
+                bulls++;
+            }
+            diff >>>= CodeTable.BITS_PER_CHAR;
+        }
+        return bulls;
+    }
+
+    private int getCharMask(final long code)
+    {
+        int mask = 0;
+        long codex = code;
+        for (int i = 0; i < length; i++)
+        {
+            mask |= 1 << (int) (codex & CodeTable.CHAR_MASK);
+            codex >>>= CodeTable.BITS_PER_CHAR;
+        }
+        return mask;
+    }
+
+    private int evaluateScoreIndexNonUniqueChars(final long guess, final long code)
+    {
+        int cows = 0, bulls = 0, marked = 0;
+        for (int i = 0; i < length; i++)
+        {
+            if (charAt(guess, i) == charAt(code, i))
+            {
+                bulls++;
+                marked |= 1 << i;
+            }
+        }
+        int used = marked;
+        for (int i = 0; i < length; i++)
+        {
+            if ((marked & (1 << i)) == 0)
+            {
+                final int chi = charAt(guess, i);
+                for (int j = 0; j < length; j++)
+                {
+                    if ((used & (1 << j)) == 0 && charAt(code, j) == chi)
+                    {
+                        cows++;
+                        used |= 1 << j;
+                        break;
+                    }
+                }
+            }
+        }
+        return scores.getIndex(cows, bulls);
+    }
+
+    private static int charAt(final long code, final int index)
+    {
+        return (int) ((code >>> (index * CodeTable.BITS_PER_CHAR)) & CodeTable.CHAR_MASK);
+    }
+
+    /**
+     * Determines all codes from the passed codes against which the passed guess evaluates as the
+     * passed score. Assumes that both the guess and the score are valid for the current game setup.
+     * For example, for the setup [AB, 2, false], for the guess BA, the score (2,0) and the set of
+     * all possible codes, the returned set will contain only AB.
+     * 
+     * @param guess The guess to be checked.
+     * @param score The score that we are aiming at.
+     * @param codes The codes against which the guess should be checked.
+     * @return All codes which satisfy the above conditions, sorted alphabetically.
+     */
+    public final SortedSet<String> evaluatePossibleCodes(final String guess, final Score score,
+        final SortedSet<String> codes)
+    {
+        assert (isValidCode(guess) && isValidScore(score));
+        final SortedSet<String> result = new TreeSet<String>();
+        final long packedGuess = space.pack(guess);
+        final int scoreIndex = getScoreIndex(score);
+        for (final String code : codes)
+        {
+            if (evaluatePackedScoreIndex(packedGuess, space.pack(code)) == scoreIndex)
+            {
+                result.add(code);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Determines all codes from the passed code set against which the guess with the passed index
+     * evaluates as the passed score. This is the index variant of {@link
+     * #evaluatePossibleCodes(String, Score, SortedSet)}. It scores all members of the passed set
+     * with {@link #evaluateScores(int, int[], int[], byte[])} and writes the matching ones to a new
+     * set.
+     * 
+     * @param guess The index of the guess to be checked.
+     * @param score The score that we are aiming at.
+     * @param codes The set of codes against which the guess should be checked.
+     * @return The set of all codes which satisfy the above conditions.
+     */
+    public final CodeSet evaluatePossibleCodes(final int guess, final Score score,
+        final CodeSet codes)
+    {
+        assert isValidScore(score);
+        final int scoreIndex = getScoreIndex(score);
+        final int[] codesx = codes.toArray();
+        final byte[] ordinals = new byte[codesx.length];
+        evaluateScores(guess, codesx, new int[scores.size()], ordinals);
+        final long[] words = new long[CodeSet.getNumWords(codes.capacity())];
+        for (int i = 0; i < codesx.length; i++)
+        {
+            if (ordinals[i] == scoreIndex)
+            {
+                words[CodeSet.getWordIndex(codesx[i])] |= CodeSet.getBit(codesx[i]);
+            }
+        }
+        return new CodeSet(words, codes.capacity());
+    }
+
+    /**
+     * Partitions the passed code set by the score of the guess with the passed index against each
+     * code, in a single pass. Element <code>i</code> of the returned array is the set of all codes
+     * against which the guess evaluates as the i-th score in the list returned by {@link
+     * #getAllPossibleScores()}, which is the same as the set returned by {@link
+     * #evaluatePossibleCodes(int, Score, CodeSet)} for this score.
+     * 
+     * @param guess The index of the guess to be checked.
+     * @param codes The set of codes to partition.
+     * @return The parts of the partition, indexed by score.
+     */
+    public final CodeSet[] evaluatePartition(final int guess, final CodeSet codes)
+    {
+        final int[] codesx = codes.toArray();
+        final byte[] ordinals = new byte[codesx.length];
+        final int[] histogram = new int[scores.size()];
+        evaluateScores(guess, codesx, histogram, ordinals);
+        final int numWords = CodeSet.getNumWords(codes.capacity());
+        final long[][] words = new long[histogram.length][];
+        for (int i = 0; i < codesx.length; i++)
+        {
+            if (words[ordinals[i]] == null)
+            {
+                words[ordinals[i]] = new long[numWords];
+            }
+            words[ordinals[i]][CodeSet.getWordIndex(codesx[i])] |= CodeSet.getBit(codesx[i]);
+        }
+        final CodeSet[] result = new CodeSet[histogram.length];
+        final CodeSet empty = new CodeSet(new long[numWords], codes.capacity());
+        for (int i = 0; i < result.length; i++)
+        {
+            result[i] = (words[i] != null) ? new CodeSet(words[i], codes.capacity()) : empty;
+        }
+        return result;
+    }
+
+    /**
+     * Visits all valid codes for the current game setup, in alphabetical order. These codes are
+     * passed to the <code>visit()</code> method of the passed visitor. The codes are enumerated
+     * from the code space one by one, so this method works for setups of any size.
+     * 
+     * @param visitor The visitor.
+     */
+    public final void visitCodes(final CodeVisitor visitor)
+    {
+        assert (visitor != null);
+        space.visitCodes(0, space.size(), visitor);
+    }
+
+    /**
+     * Visits all valid codes for the current game setup in parallel. The codes are split into
+     * contiguous ranges of about the same size, one per thread, and each range is visited by the
+     * {@link Workers} in alphabetical order. Therefore, the passed visitor may be invoked
+     * concurrently by several threads, and should be thread-safe.
+     * 
+     * @param visitor The visitor.
+     * @param threads The number of threads, at least 1.
+     */
+    public final void visitCodes(final CodeVisitor visitor, final int threads)
+    {
+        assert (visitor != null && threads > 0);
+        final long size = space.size();
+        final int numRanges = (int) Math.min(threads, size);
+        final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(numRanges);
+        for (int i = 0; i < numRanges; i++)
+        {
+            final long from = size / numRanges * i + Math.min(i, size % numRanges);
+            final long to = size / numRanges * (i + 1) + Math.min(i + 1, size % numRanges);
+            tasks.add(new Callable<Void>()
+            {
+                @Override
+                public Void call()
+                {
+                    space.visitCodes(from, to, visitor);
+                    return null;
+                }
+            });
+        }
+        Workers.invokeAll(tasks);
+    }
+
+}
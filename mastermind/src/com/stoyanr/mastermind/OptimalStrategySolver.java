@@ -0,0 +1,512 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An exact solver which finds an optimal strategy for a particular game setup, that is a strategy
+ * which minimizes the total number of rounds needed to find all possible codes, and so also the
+ * average number of rounds. Unlike the algorithms in this package, which choose each guess by
+ * rating the partition it produces only one step ahead, the solver considers every possible
+ * continuation of the game. The strategy is returned as a {@link StrategyTree}, which can be played
+ * with a {@link StrategyAlgorithmFactory}, and so also precalculated by a {@link GuessCalculator}.
+ * 
+ * <p>
+ * The cost of a set of still possible codes is the total number of rounds needed to find all of
+ * them. It is the size of the set plus the minimum, over all guesses, of the sum of the costs of
+ * the parts produced by the guess, except for the winning part. The solver computes it with a
+ * depth-first branch-and-bound search:
+ * <ul>
+ * <li>A lower bound of the cost of any set of <code>n</code> codes is the cost of a perfect tree,
+ * in which each node finds one code and has a child for each non-winning score. The lower bound of
+ * a guess is the size of the set plus the sum of the lower bounds of its parts. For parts of up to
+ * 2 codes, the bound is also the exact cost.</li>
+ * <li>The guesses at each node are tried in the order of their lower bounds, and the search at the
+ * node stops as soon as the next lower bound is not better than the best cost found so far.</li>
+ * <li>Each part is searched with a budget, the cost it may have for the guess to still be better
+ * than the best one, and the search of the guess stops as soon as it is exceeded.</li>
+ * <li>The results are memoized by the set of codes, with the cost and the best guess if the cost
+ * is known exactly, or with a lower bound of the cost if it exceeded the budget.</li>
+ * <li>In the first {@link #SYMMETRY_ROUNDS} rounds, only the canonical guesses found by
+ * {@link GuessSymmetry} are tried.</li>
+ * </ul>
+ * 
+ * <p>
+ * If more than one thread is configured via {@link #setThreads(int)}, the parts of each first
+ * guess are searched concurrently by the {@link Workers}, sharing the memoized results.
+ * 
+ * @author Stoyan Rachev
+ */
+public class OptimalStrategySolver
+{
+    public static final int SYMMETRY_ROUNDS = 2;
+
+    private static final int INFINITY = Integer.MAX_VALUE;
+    private static final int EXACT_SIZE = 2;
+
+    private final transient Mastermind mastermind;
+    private final transient int numScores;
+    private final transient int winningScore;
+    private final transient int[] allGuesses;
+    private final transient int[] lowerBounds;
+    private final transient ConcurrentMap<Subproblem, Result> results =
+        new ConcurrentHashMap<Subproblem, Result>();
+
+    private transient int threads = 1;
+    private transient int totalRounds = 0;
+
+    /**
+     * Creates a new solver for the specified game setup.
+     * 
+     * @param mastermind The game setup to use.
+     */
+    public OptimalStrategySolver(final Mastermind mastermind)
+    {
+        assert (mastermind != null);
+        this.mastermind = mastermind;
+        this.numScores = mastermind.getAllPossibleScores().size();
+        this.winningScore = mastermind.getScoreIndex(mastermind.getWinningScore());
+        this.allGuesses = mastermind.getAllCodes().toArray();
+        this.lowerBounds = calcLowerBounds(allGuesses.length, numScores - 1);
+    }
+
+    private static int[] calcLowerBounds(final int size, final int branching)
+    {
+        final int[] result = new int[size + 1];
+        int rounds = 1, width = 1, remaining = width;
+        for (int n = 1; n <= size; n++)
+        {
+            if (remaining == 0)
+            {
+                rounds++;
+                width = (width > size / branching) ? size : width * branching;
+                remaining = width;
+            }
+            result[n] = result[n - 1] + rounds;
+            remaining--;
+        }
+        return result;
+    }
+
+    /**
+     * Sets the number of threads used to search the parts of the first guesses. The default is 1,
+     * meaning that the whole search is performed by the calling thread.
+     * 
+     * @param threads The number of threads, at least 1.
+     */
+    public final void setThreads(final int threads)
+    {
+        assert (threads > 0);
+        this.threads = threads;
+    }
+
+    /**
+     * Finds an optimal strategy. This may take a lot of time for larger setups, for example a few
+     * minutes for the classical Mastermind setup.
+     * 
+     * @return The optimal strategy tree.
+     */
+    public final StrategyTree solve()
+    {
+        final int[] codes = allGuesses;
+        final Search search = new Search();
+        if (threads > 1 && codes.length > EXACT_SIZE)
+        {
+            results.put(new Subproblem(codes), solveConcurrently(codes, search));
+        }
+        final Result result = search.solve(codes, INFINITY, 0);
+        totalRounds = result.cost;
+        final GuessTrie trie = new GuessTrie(numScores);
+        search.build(trie, GuessTrie.ROOT, codes, 0);
+        return trie.toStrategyTree();
+    }
+
+    /**
+     * Returns the total number of rounds needed to find all possible codes with the optimal
+     * strategy. Should only be called after {@link #solve()} has finished.
+     * 
+     * @return The optimal total number of rounds.
+     */
+    public final int getTotalRounds()
+    {
+        assert (totalRounds > 0);
+        return totalRounds;
+    }
+
+    private Result solveConcurrently(final int[] codes, final Search search)
+    {
+        final long[] order = search.rateGuesses(codes, search.getGuesses(0));
+        int best = INFINITY, bestGuess = StrategyTree.NONE;
+        for (int i = 0; i < order.length && getBound(order[i]) < best; i++)
+        {
+            final int guess = getGuess(order[i]);
+            final int[][] parts = search.partition(codes, guess);
+            final int bound = getBound(order[i]);
+            final AtomicInteger next = new AtomicInteger();
+            final List<PartsTask> tasks = new ArrayList<PartsTask>(threads);
+            for (int j = 0; j < threads; j++)
+            {
+                tasks.add(new PartsTask(guess, parts, next, best - bound));
+            }
+            int cost = bound;
+            for (final Integer excess : Workers.invokeAll(tasks))
+            {
+                cost = (cost > INFINITY - excess) ? INFINITY : cost + excess;
+            }
+            if (cost < best)
+            {
+                best = cost;
+                bestGuess = guess;
+            }
+        }
+        return new Result(best, bestGuess);
+    }
+
+    private static int getBound(final long key)
+    {
+        return (int) (key >>> Integer.SIZE);
+    }
+
+    private static int getGuess(final long key)
+    {
+        return (int) (key & Integer.MAX_VALUE);
+    }
+
+    /**
+     * A search performed by a single thread, with its own scratch arrays.
+     */
+    final class Search
+    {
+        private final transient int[] histogram = new int[numScores];
+        private final transient int[] history = new int[SYMMETRY_ROUNDS];
+
+        Result solve(final int[] codes, final int budget, final int depth)
+        {
+            final int n = codes.length;
+            Result result;
+            if (n <= EXACT_SIZE)
+            {
+                result = new Result(lowerBounds[n], codes[0]);
+            }
+            else if (lowerBounds[n] >= budget)
+            {
+                result = new Result(lowerBounds[n], StrategyTree.NONE);
+            }
+            else
+            {
+                final Subproblem key = new Subproblem(codes);
+                final Result known = results.get(key);
+                if (known != null && (known.isExact() || known.cost >= budget))
+                {
+                    result = known;
+                }
+                else
+                {
+                    final int guess = findPerfectGuess(codes);
+                    result = (guess != StrategyTree.NONE) ? new Result(lowerBounds[n], guess)
+                        : search(codes, budget, depth);
+                    if (known == null || result.isExact() || result.cost > known.cost)
+                    {
+                        results.put(key, result);
+                    }
+                }
+            }
+            return result;
+        }
+
+        private Result search(final int[] codes, final int budget, final int depth)
+        {
+            final long[] order = rateGuesses(codes, getGuesses(depth));
+            int best = budget, bestGuess = StrategyTree.NONE, lower = INFINITY;
+            int i = 0;
+            for (; i < order.length && getBound(order[i]) < best; i++)
+            {
+                final int guess = getGuess(order[i]);
+                final int cost = searchGuess(codes, guess, best, depth);
+                if (cost < best)
+                {
+                    best = cost;
+                    bestGuess = guess;
+                }
+                else
+                {
+                    lower = Math.min(lower, cost);
+                }
+            }
+            if (i < order.length)
+            {
+                lower = Math.min(lower, getBound(order[i]));
+            }
+            return (bestGuess != StrategyTree.NONE) ? new Result(best, bestGuess) : new Result(
+                Math.max(lower, budget), StrategyTree.NONE);
+        }
+
+        /**
+         * Returns a code of the passed set which achieves the lower bound of the set and whose
+         * parts are all exactly solved by their lower bounds, or NONE if there is no such code.
+         */
+        private int findPerfectGuess(final int[] codes)
+        {
+            int result = StrategyTree.NONE;
+            for (int i = 0; i < codes.length && result == StrategyTree.NONE; i++)
+            {
+                Arrays.fill(histogram, 0);
+                mastermind.evaluateScores(codes[i], codes, histogram, null);
+                int bound = codes.length, max = 0;
+                for (int j = 0; j < histogram.length; j++)
+                {
+                    if (j != winningScore)
+                    {
+                        bound += lowerBounds[histogram[j]];
+                        max = Math.max(max, histogram[j]);
+                    }
+                }
+                if (bound == lowerBounds[codes.length] && max <= EXACT_SIZE)
+                {
+                    result = codes[i];
+                }
+            }
+            return result;
+        }
+
+        private int searchGuess(final int[] codes, final int guess, final int best,
+            final int depth)
+        {
+            final int[][] parts = partition(codes, guess);
+            if (depth < SYMMETRY_ROUNDS)
+            {
+                history[depth] = guess;
+            }
+            int result = codes.length;
+            for (final int[] part : parts)
+            {
+                result += lowerBounds[part.length];
+            }
+            for (int i = 0; i < parts.length && result < best; i++)
+            {
+                final int lower = lowerBounds[parts[i].length];
+                if (parts[i].length > EXACT_SIZE)
+                {
+                    final Result resultx = solve(parts[i], best - (result - lower), depth + 1);
+                    result += resultx.cost - lower;
+                }
+            }
+            return result;
+        }
+
+        long[] rateGuesses(final int[] codes, final int[] guesses)
+        {
+            final long[] keys = new long[guesses.length];
+            int count = 0;
+            for (final int guess : guesses)
+            {
+                Arrays.fill(histogram, 0);
+                mastermind.evaluateScores(guess, codes, histogram, null);
+                final boolean found = (histogram[winningScore] > 0);
+                int bound = codes.length, parts = 0;
+                for (int i = 0; i < histogram.length; i++)
+                {
+                    if (i != winningScore && histogram[i] > 0)
+                    {
+                        bound += lowerBounds[histogram[i]];
+                        parts++;
+                    }
+                }
+                if (found || parts > 1)
+                {
+                    final long notFound = found ? 0L : (1L << (Integer.SIZE - 1));
+                    keys[count++] = ((long) bound << Integer.SIZE) | notFound | guess;
+                }
+            }
+            final long[] result = Arrays.copyOf(keys, count);
+            Arrays.sort(result);
+            return result;
+        }
+
+        int[] getGuesses(final int depth)
+        {
+            return (depth < SYMMETRY_ROUNDS) ? mastermind.getGuessSymmetry()
+                .getCanonicalGuesses(history, depth).toArray() : allGuesses;
+        }
+
+        /**
+         * Partitions the passed codes by their scores against the passed guess, and returns the
+         * non-empty parts except for the winning one, largest first.
+         */
+        int[][] partition(final int[] codes, final int guess)
+        {
+            final byte[] ordinals = new byte[codes.length];
+            Arrays.fill(histogram, 0);
+            mastermind.evaluateScores(guess, codes, histogram, ordinals);
+            final int[][] parts = new int[numScores][];
+            int count = 0;
+            for (int i = 0; i < numScores; i++)
+            {
+                if (i != winningScore && histogram[i] > 0)
+                {
+                    parts[i] = new int[histogram[i]];
+                    count++;
+                }
+            }
+            Arrays.fill(histogram, 0);
+            for (int i = 0; i < codes.length; i++)
+            {
+                if (parts[ordinals[i]] != null)
+                {
+                    parts[ordinals[i]][histogram[ordinals[i]]++] = codes[i];
+                }
+            }
+            final int[][] result = new int[count][];
+            count = 0;
+            for (final int[] part : parts)
+            {
+                if (part != null)
+                {
+                    result[count++] = part;
+                }
+            }
+            Arrays.sort(result, new PartSizeComparator());
+            return result;
+        }
+
+        // @checkstyle:off (Too many parameters)
+        void build(final GuessTrie trie, final int node, final int[] codes, final int depth)
+        // @checkstyle:on
+        {
+            final Result result = solve(codes, INFINITY, depth);
+            assert result.isExact();
+            trie.setGuess(node, result.guess);
+            if (depth < SYMMETRY_ROUNDS)
+            {
+                history[depth] = result.guess;
+            }
+            for (final int[] part : partition(codes, result.guess))
+            {
+                final int score = mastermind.evaluateScoreIndex(result.guess, part[0]);
+                build(trie, trie.addChild(node, score), part, depth + 1);
+            }
+        }
+    }
+
+    /**
+     * A task searching the parts of a first guess, which returns the excess of their costs over
+     * their lower bounds.
+     */
+    final class PartsTask implements Callable<Integer>
+    {
+        private final transient int guess;
+        private final transient int[][] parts;
+        private final transient AtomicInteger next;
+        private final transient int budget;
+
+        // @checkstyle:off (Too many parameters)
+        PartsTask(final int guess, final int[][] parts, final AtomicInteger next, final int budget)
+        // @checkstyle:on
+        {
+            this.guess = guess;
+            this.parts = parts;
+            this.next = next;
+            this.budget = budget;
+        }
+
+        @Override
+        public Integer call()
+        {
+            final Search search = new Search();
+            search.history[0] = guess;
+            int result = 0;
+            for (int i = next.getAndIncrement(); i < parts.length; i = next.getAndIncrement())
+            {
+                final int lower = lowerBounds[parts[i].length];
+                final int partBudget = (budget > INFINITY - lower) ? INFINITY : budget + lower;
+                result += search.solve(parts[i], partBudget, 1).cost - lower;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The result of searching a set of codes, which is either its exact cost and a guess achieving
+     * it, or a lower bound of its cost if the search exceeded the budget.
+     */
+    static final class Result
+    {
+        private final transient int cost;
+        private final transient int guess;
+
+        Result(final int cost, final int guess)
+        {
+            this.cost = cost;
+            this.guess = guess;
+        }
+
+        boolean isExact()
+        {
+            return (guess != StrategyTree.NONE);
+        }
+    }
+
+    /**
+     * A set of codes used as a key for the memoized results, with a precomputed hash code.
+     */
+    static final class Subproblem
+    {
+        private final transient int[] codes;
+        private final transient int hash;
+
+        Subproblem(final int[] codes)
+        {
+            this.codes = codes;
+            this.hash = Arrays.hashCode(codes);
+        }
+
+        @Override
+        public boolean equals(final Object obj)
+        {
+            return (obj instanceof Subproblem) && hash == ((Subproblem) obj).hash
+                && Arrays.equals(codes, ((Subproblem) obj).codes);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+    }
+
+    /**
+     * Orders parts by decreasing size, so that the largest parts, which are the most likely to
+     * exceed the budget, are searched first.
+     */
+    static final class PartSizeComparator implements Comparator<int[]>
+    {
+        @Override
+        public int compare(final int[] part1, final int[] part2)
+        {
+            return (part1.length > part2.length) ? -1 : (part1.length < part2.length) ? 1 : 0;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+/**
+ * A factory which decorates another factory, configuring the {@link AbstractAlgorithm} instances
+ * it creates to rate their guesses with the specified number of threads. Other algorithms are
+ * returned unchanged.
+ * 
+ * <p>
+ * This is the <a href="http://en.wikipedia.org/wiki/Decorator_pattern">Decorator</a> design pattern
+ * in action.
+ * 
+ * @author Stoyan Rachev
+ */
+public class ParallelAlgorithmFactory implements AlgorithmFactory
+{
+    private final transient AlgorithmFactory factory;
+    private final transient int threads;
+
+    /**
+     * Creates a new factory decorating the specified factory.
+     * 
+     * @param factory The factory to decorate.
+     * @param threads The number of threads used by each algorithm, at least 1.
+     */
+    public ParallelAlgorithmFactory(final AlgorithmFactory factory, final int threads)
+    {
+        assert (factory != null && threads > 0);
+        this.factory = factory;
+        this.threads = threads;
+    }
+
+    @Override
+    public final Algorithm getAlgorithm()
+    {
+        final Algorithm algorithm = factory.getAlgorithm();
+        if (algorithm instanceof AbstractAlgorithm)
+        {
+            ((AbstractAlgorithm) algorithm).setThreads(threads);
+        }
+        return algorithm;
+    }
+
+}
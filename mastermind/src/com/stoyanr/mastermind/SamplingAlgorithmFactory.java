@@ -0,0 +1,71 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+/**
+ * A factory which decorates another factory, configuring the {@link AbstractAlgorithm} instances
+ * it creates to rate only random samples of the guesses and possible codes, as described in
+ * {@link AbstractAlgorithm#setSampling(int, int, long)}. Other algorithms are returned unchanged.
+ * All algorithms created by the factory use the same seed, and so make the same guesses for the
+ * same scores.
+ * 
+ * <p>
+ * This is the <a href="http://en.wikipedia.org/wiki/Decorator_pattern">Decorator</a> design pattern
+ * in action.
+ * 
+ * @author Stoyan Rachev
+ */
+public class SamplingAlgorithmFactory implements AlgorithmFactory
+{
+    private final transient AlgorithmFactory factory;
+    private final transient int maxGuesses;
+    private final transient int maxCodes;
+    private final transient long seed;
+
+    /**
+     * Creates a new factory decorating the specified factory.
+     * 
+     * @param factory The factory to decorate.
+     * @param maxGuesses The max number of canonical guesses to rate, at least 1.
+     * @param maxCodes The max number of possible codes to rate guesses against, at least 1.
+     * @param seed The seed of the random generator used to draw the samples.
+     */
+    // @checkstyle:off (Too many parameters)
+    public SamplingAlgorithmFactory(final AlgorithmFactory factory, final int maxGuesses,
+        final int maxCodes, final long seed)
+    // @checkstyle:on
+    {
+        assert (factory != null && maxGuesses > 0 && maxCodes > 0);
+        this.factory = factory;
+        this.maxGuesses = maxGuesses;
+        this.maxCodes = maxCodes;
+        this.seed = seed;
+    }
+
+    @Override
+    public final Algorithm getAlgorithm()
+    {
+        final Algorithm algorithm = factory.getAlgorithm();
+        if (algorithm instanceof AbstractAlgorithm)
+        {
+            ((AbstractAlgorithm) algorithm).setSampling(maxGuesses, maxCodes, seed);
+        }
+        return algorithm;
+    }
+
+}
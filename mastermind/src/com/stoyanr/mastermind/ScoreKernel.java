@@ -0,0 +1,228 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import java.util.Arrays;
+
+/**
+ * A branch-free scoring kernel for the codes of a {@link CodeTable}, which evaluates scores with
+ * bitwise operations on whole packed codes ("SIMD within a register") instead of looping over
+ * their characters.
+ * 
+ * <p>
+ * The number of bulls is the number of zero character fields in <code>guess ^ code</code>. The
+ * bits of each field are folded into its lowest bit with a few shifts, so the non-zero fields can
+ * be counted with a single {@link Long#bitCount(long)}.
+ * 
+ * <p>
+ * The number of characters in common (cows plus bulls) is computed from an "occurrence mask"
+ * precomputed for each code. Bit <code>c * stride + k</code> of the mask is set if the code
+ * contains the c-th character of the alphabet at least <code>k + 1</code> times, where the stride
+ * is 1 for setups with unique characters and the combination length otherwise. The number of
+ * characters in common is then the sum of the minimums of the character counts of both codes,
+ * which is exactly <code>Long.bitCount(occurrences(guess) &amp; occurrences(code))</code>. For
+ * setups with unique characters, the occurrence mask is the same as the character mask of the
+ * code.
+ * 
+ * <p>
+ * The occurrence mask must fit in a <code>long</code>, which is checked by
+ * {@link #isSupported(CodeSpace)}. This is the case for all setups with unique characters and for
+ * all setups with non-unique characters with up to 64 alphabet characters times combination
+ * length, such as the classical Mastermind setup. For the remaining setups, {@link Mastermind}
+ * falls back to scoring character by character.
+ * 
+ * <p>
+ * Once constructed, the kernel is immutable and can be shared by any number of threads.
+ * 
+ * @author Stoyan Rachev
+ */
+public class ScoreKernel
+{
+    private static final int MAX_OCCURRENCE_BITS = Long.SIZE;
+
+    private final transient CodeTable codes;
+    private final transient int length;
+    private final transient long lowBits;
+    private final transient long[] occurrences;
+    private final transient int[] ordinals;
+
+    /**
+     * Creates a new scoring kernel for the codes of the passed table. The space of the table must
+     * be supported, as checked by {@link #isSupported(CodeSpace)}.
+     * 
+     * @param codes The table of all codes.
+     * @param space The code space of the table.
+     * @param scores The table of all possible scores.
+     */
+    public ScoreKernel(final CodeTable codes, final CodeSpace space, final Scores scores)
+    {
+        assert (codes != null && space != null && scores != null && isSupported(space));
+        this.codes = codes;
+        this.length = space.getLength();
+        this.lowBits = calcLowBits(length);
+        this.occurrences = calcOccurrences(codes, getStride(space), length);
+        this.ordinals = calcOrdinals(scores, length);
+    }
+
+    /**
+     * Returns whether the passed code space is supported by this kernel, that is whether the
+     * occurrence masks of its codes fit in a <code>long</code>.
+     * 
+     * @param space The code space to check.
+     * @return true if the space is supported, false otherwise.
+     */
+    public static boolean isSupported(final CodeSpace space)
+    {
+        return (space.getNumChars() * getStride(space) <= MAX_OCCURRENCE_BITS);
+    }
+
+    private static int getStride(final CodeSpace space)
+    {
+        return space.hasUniqueChars() ? 1 : space.getLength();
+    }
+
+    private static long calcLowBits(final int length)
+    {
+        long result = 0L;
+        for (int i = 0; i < length; i++)
+        {
+            result = (result << CodeTable.BITS_PER_CHAR) | 1L;
+        }
+        return result;
+    }
+
+    private static long[] calcOccurrences(final CodeTable codes, final int stride,
+        final int length)
+    {
+        final long[] result = new long[codes.size()];
+        final int[] counts = new int[MAX_OCCURRENCE_BITS];
+        for (int code = 0; code < result.length; code++)
+        {
+            long packed = codes.getPacked(code);
+            long mask = 0L;
+            for (int i = 0; i < length; i++)
+            {
+                final int c = (int) (packed & CodeTable.CHAR_MASK);
+                mask |= 1L << (c * stride + counts[c]++);
+                packed >>>= CodeTable.BITS_PER_CHAR;
+            }
+            Arrays.fill(counts, 0);
+            result[code] = mask;
+        }
+        return result;
+    }
+
+    private static int[] calcOrdinals(final Scores scores, final int length)
+    {
+        final int[] result = new int[(length + 1) * (length + 1)];
+        for (int common = 0; common <= length; common++)
+        {
+            for (int bulls = 0; bulls <= length; bulls++)
+            {
+                result[common * (length + 1) + bulls] =
+                    (bulls <= common) ? scores.getIndex(common - bulls, bulls) : -1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Evaluates how the guess with the passed index scores against the code with the passed index,
+     * and returns the index of the score in the list returned by
+     * {@link Mastermind#getAllPossibleScores()}.
+     * 
+     * @param guess The index of the guess to be checked.
+     * @param code The index of the code against which the guess should be checked.
+     * @return The index of the score of the guess against the code.
+     */
+    public final int evaluateScoreIndex(final int guess, final int code)
+    {
+        return evaluate(codes.getPacked(guess), occurrences[guess], code);
+    }
+
+    /**
+     * Evaluates how the guess with the passed index scores against each of the codes with the
+     * passed indexes. This is the batch variant of {@link #evaluateScoreIndex(int, int)}, which
+     * loads the guess only once. The index of the score against the i-th code is written to the
+     * i-th element of the passed result array.
+     * 
+     * @param guess The index of the guess to be checked.
+     * @param codesx The indexes of the codes against which the guess should be checked.
+     * @param result The array to write the score indexes to, at least as long as the codes.
+     */
+    public final void evaluateScoreIndexes(final int guess, final int[] codesx,
+        final byte[] result)
+    {
+        assert (codesx != null && result != null && result.length >= codesx.length);
+        final long packedGuess = codes.getPacked(guess);
+        final long occurrencesGuess = occurrences[guess];
+        for (int i = 0; i < codesx.length; i++)
+        {
+            result[i] = (byte) evaluate(packedGuess, occurrencesGuess, codesx[i]);
+        }
+    }
+
+    /**
+     * Evaluates how the guess with the passed index scores against each of the codes with the
+     * passed indexes, and counts the codes by score. This is the histogram variant of
+     * {@link #evaluateScoreIndexes(int, int[], byte[])}, which is used to implement
+     * {@link Mastermind#evaluateScores(int, int[], int[], byte[])}.
+     * 
+     * @param guess The index of the guess to be checked.
+     * @param codesx The indexes of the codes against which the guess should be checked.
+     * @param histogram The histogram to add the score counts to, indexed by score.
+     * @param ordinals The array to write the score indexes to, or null if they are not needed.
+     */
+    // @checkstyle:off (Too many parameters)
+    public final void evaluateScores(final int guess, final int[] codesx, final int[] histogram,
+        final byte[] ordinals)
+    // @checkstyle:on
+    {
+        assert (codesx != null && histogram != null);
+        assert (ordinals == null || ordinals.length >= codesx.length);
+        final long packedGuess = codes.getPacked(guess);
+        final long occurrencesGuess = occurrences[guess];
+        if (ordinals == null)
+        {
+            for (int i = 0; i < codesx.length; i++)
+            {
+                histogram[evaluate(packedGuess, occurrencesGuess, codesx[i])]++;
+            }
+        }
+        else
+        {
+            for (int i = 0; i < codesx.length; i++)
+            {
+                final int index = evaluate(packedGuess, occurrencesGuess, codesx[i]);
+                histogram[index]++;
+                ordinals[i] = (byte) index;
+            }
+        }
+    }
+
+    private int evaluate(final long packedGuess, final long occurrencesGuess, final int code)
+    {
+        final long diff = packedGuess ^ codes.getPacked(code);
+        long folded = diff | (diff >>> 1);
+        folded |= folded >>> 2;
+        folded |= diff >>> (CodeTable.BITS_PER_CHAR - 1);
+        final int bulls = length - Long.bitCount(folded & lowBits);
+        final int common = Long.bitCount(occurrencesGuess & occurrences[code]);
+        return ordinals[common * (length + 1) + bulls];
+    }
+}
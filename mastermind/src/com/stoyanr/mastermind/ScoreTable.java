@@ -0,0 +1,198 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A precomputed table of the scores of all guesses against all codes for a particular game setup.
+ * For each guess / code pair, the table contains the index of the score in the list returned by
+ * {@link Mastermind#getAllPossibleScores()}, stored as a single byte. Evaluating a score therefore
+ * becomes a simple table lookup.
+ * 
+ * <p>
+ * The table requires one byte per guess / code pair, that is about 1.7 MB for the classical
+ * Mastermind setup. Tables up to {@link #MAX_HEAP_SIZE} bytes are stored in a byte array on the
+ * heap, while larger tables are stored in a temporary file which is memory-mapped in chunks of
+ * whole rows. Tables larger than {@link #MAX_SIZE} bytes are not supported at all, and a temporary
+ * file is created only if there is enough usable space for it, since running out of space while
+ * writing to a mapped file may crash the virtual machine.
+ * 
+ * <p>
+ * Once constructed, the table is immutable and can be shared by any number of threads.
+ * 
+ * @author Stoyan Rachev
+ */
+public class ScoreTable
+{
+    public static final long MAX_HEAP_SIZE = 1L << 26;
+    public static final long MAX_SIZE = 1L << 32;
+
+    private static final String FILE_PREFIX = "mastermind";
+    private static final String FILE_SUFFIX = ".scores";
+    private static final String FILE_MODE = "rw";
+
+    private final transient int size;
+    private final transient byte[] bytes;
+    private final transient MappedByteBuffer[] buffers;
+    private final transient int rowsPerBuffer;
+
+    /**
+     * Creates a new score table for the passed game setup. This constructor evaluates the scores
+     * of all guesses against all codes, which may take some time for larger setups.
+     * 
+     * @param mastermind The game setup to use.
+     * @throws MastermindException If the table is larger than {@link #MAX_SIZE}, or if it is too
+     * large for the heap and there is not enough space for the temporary file, or creating or
+     * mapping it failed.
+     */
+    public ScoreTable(final Mastermind mastermind)
+    {
+        this(mastermind, MAX_HEAP_SIZE);
+    }
+
+    /**
+     * Creates a new score table for the passed game setup, storing it on the heap only if its size
+     * does not exceed the passed max heap size.
+     * 
+     * @param mastermind The game setup to use.
+     * @param maxHeapSize The max size of a table stored on the heap, in bytes.
+     */
+    ScoreTable(final Mastermind mastermind, final long maxHeapSize)
+    {
+        assert (mastermind != null && maxHeapSize >= 0);
+        this.size = mastermind.getCodes().size();
+        final long total = (long) size * size;
+        if (total > MAX_SIZE)
+        {
+            throw new MastermindException();
+        }
+        if (total <= maxHeapSize)
+        {
+            this.bytes = new byte[(int) total];
+            this.buffers = null;
+            this.rowsPerBuffer = size;
+        }
+        else
+        {
+            this.bytes = null;
+            this.rowsPerBuffer = Integer.MAX_VALUE / size;
+            this.buffers = mapBuffers(size, rowsPerBuffer);
+        }
+        initScores(mastermind);
+    }
+
+    private static MappedByteBuffer[] mapBuffers(final int size, final int rowsPerBuffer)
+    {
+        final int numBuffers = (size + rowsPerBuffer - 1) / rowsPerBuffer;
+        final MappedByteBuffer[] result = new MappedByteBuffer[numBuffers];
+        try
+        {
+            final File file = File.createTempFile(FILE_PREFIX, FILE_SUFFIX);
+            file.deleteOnExit();
+            if (file.getUsableSpace() < (long) size * size)
+            {
+                file.delete();
+                throw new MastermindException();
+            }
+            final RandomAccessFile raf = new RandomAccessFile(file, FILE_MODE);
+            try
+            {
+                final FileChannel channel = raf.getChannel();
+                final long rowSize = size;
+                for (int i = 0; i < numBuffers; i++)
+                {
+                    final int rows = Math.min(rowsPerBuffer, size - i * rowsPerBuffer);
+                    final long position = (long) i * rowsPerBuffer * rowSize;
+                    result[i] =
+                        channel.map(FileChannel.MapMode.READ_WRITE, position, rows * rowSize);
+                }
+            }
+            finally
+            {
+                raf.close();
+            }
+        }
+        catch (IOException e)
+        {
+            throw new MastermindException(e);
+        }
+        return result;
+    }
+
+    private void initScores(final Mastermind mastermind)
+    {
+        for (int guess = 0; guess < size; guess++)
+        {
+            for (int code = 0; code <= guess; code++)
+            {
+                final byte index = (byte) mastermind.evaluateScoreIndex(guess, code);
+                put(guess, code, index);
+                put(code, guess, index);
+            }
+        }
+    }
+
+    private void put(final int guess, final int code, final byte index)
+    {
+        if (bytes == null)
+        {
+            buffers[guess / rowsPerBuffer].put((guess % rowsPerBuffer) * size + code, index);
+        }
+        else
+        {
+            bytes[guess * size + code] = index;
+        }
+    }
+
+    /**
+     * Returns the number of guesses (and codes) covered by the table.
+     * 
+     * @return The number of guesses in the table.
+     */
+    public final int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns the index of the score of the guess with the passed index against the code with the
+     * passed index.
+     * 
+     * @param guess The index of the guess.
+     * @param code The index of the code.
+     * @return The index of the score in the list of all possible scores.
+     */
+    public final int getScoreIndex(final int guess, final int code)
+    {
+        int result;
+        if (bytes == null)
+        {
+            result = buffers[guess / rowsPerBuffer].get((guess % rowsPerBuffer) * size + code);
+        }
+        else
+        {
+            result = bytes[guess * size + code];
+        }
+        return result;
+    }
+}
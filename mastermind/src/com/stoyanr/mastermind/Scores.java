@@ -0,0 +1,190 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The canonical table of all possible scores for a particular game setup. Each score is
+ * represented by a single interned {@link Score} instance, and is identified by a dense index (or
+ * "ordinal") in the range [0, {@link #size()}). The scores are ordered by bulls and then by cows,
+ * and the zero score is always {@link Score#ZERO_SCORE}.
+ * 
+ * <p>
+ * Looking up a score or its index by the number of cows and bulls is a simple array access, so the
+ * scoring methods of {@link Mastermind} never create new score objects, and interned scores can be
+ * compared with <code>==</code>. Once constructed, the table is immutable and can be shared by any
+ * number of threads.
+ * 
+ * @author Stoyan Rachev
+ */
+public class Scores
+{
+    private final transient int length;
+    private final transient List<Score> scores;
+    private final transient int[] indexes;
+    private final transient int winningIndex;
+
+    /**
+     * Creates the table of all possible scores for the specified alphabet length, combination
+     * length, and character uniqueness.
+     * 
+     * @param alphabetLength The number of characters in the alphabet.
+     * @param length The combination length.
+     * @param uniqueChars Whether the characters of the combination must be unique or not.
+     */
+    public Scores(final int alphabetLength, final int length, final boolean uniqueChars)
+    {
+        assert (alphabetLength > 0 && length > 0);
+        this.length = length;
+        this.scores = Collections.unmodifiableList(calcScores(alphabetLength, length, uniqueChars));
+        this.indexes = calcIndexes();
+        this.winningIndex = getIndex(0, length);
+    }
+
+    private static List<Score> calcScores(final int alphabetLength, final int length,
+        final boolean uniqueChars)
+    {
+        final List<Score> result = new ArrayList<Score>();
+        for (int bulls = 0; bulls < length + 1; bulls++)
+        {
+            final int maxCows = length - bulls;
+            int minCows = 0;
+            if (uniqueChars)
+            {
+                minCows = Math.max((length - bulls - (alphabetLength - length)), 0);
+            }
+            for (int cows = minCows; cows < maxCows + 1; cows++)
+            {
+                if ((bulls == length - 1) && (cows == 1))
+                {
+                    continue;
+                }
+                result.add((cows == 0 && bulls == 0) ? Score.ZERO_SCORE : new Score(cows, bulls));
+            }
+        }
+        return result;
+    }
+
+    private int[] calcIndexes()
+    {
+        final int[] result = new int[(length + 1) * (length + 1)];
+        Arrays.fill(result, -1);
+        for (int i = 0; i < scores.size(); i++)
+        {
+            final Score score = scores.get(i);
+            result[score.getBulls() * (length + 1) + score.getCows()] = i;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of all possible scores.
+     * 
+     * @return The number of all possible scores.
+     */
+    public final int size()
+    {
+        return scores.size();
+    }
+
+    /**
+     * Returns an unmodifiable list of all possible scores, ordered by their indexes.
+     * 
+     * @return All possible scores.
+     */
+    public final List<Score> getAll()
+    {
+        return scores;
+    }
+
+    /**
+     * Returns the interned score with the passed index.
+     * 
+     * @param index The score index.
+     * @return The interned score.
+     */
+    public final Score get(final int index)
+    {
+        return scores.get(index);
+    }
+
+    /**
+     * Returns the index of the score with the passed number of cows and bulls, or -1 if this is not
+     * a possible score. Assumes that the sum of cows and bulls doesn't exceed the combination
+     * length.
+     * 
+     * @param cows The number of cows.
+     * @param bulls The number of bulls.
+     * @return The score index, or -1.
+     */
+    public final int getIndex(final int cows, final int bulls)
+    {
+        return indexes[bulls * (length + 1) + cows];
+    }
+
+    /**
+     * Returns the index of the passed score, or -1 if this is not a possible score.
+     * 
+     * @param score The score, which may or may not be interned.
+     * @return The score index, or -1.
+     */
+    public final int getIndex(final Score score)
+    {
+        assert (score != null);
+        final int cows = score.getCows(), bulls = score.getBulls();
+        int result = -1;
+        if (cows >= 0 && bulls >= 0 && cows + bulls <= length)
+        {
+            result = getIndex(cows, bulls);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the interned score with the passed number of cows and bulls, or null if this is not a
+     * possible score.
+     * 
+     * @param cows The number of cows.
+     * @param bulls The number of bulls.
+     * @return The interned score, or null.
+     */
+    public final Score get(final int cows, final int bulls)
+    {
+        Score result = null;
+        if (cows >= 0 && bulls >= 0 && cows + bulls <= length)
+        {
+            final int index = getIndex(cows, bulls);
+            result = (index != -1) ? scores.get(index) : null;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the index of the winning score.
+     * 
+     * @return The index of the winning score.
+     */
+    public final int getWinningIndex()
+    {
+        return winningIndex;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import java.util.Arrays;
+
+/**
+ * An {@link Algorithm} which plays a precompiled {@link StrategyTree}. Making a guess is simply
+ * looking up the guess of the current node, and accepting a score is moving to the corresponding
+ * child node, so no computations are involved.
+ * 
+ * <p>
+ * If a score is put for a guess other than the one suggested by the tree, or if the tree has no
+ * child for the put score (because the scores so far are inconsistent, or the game has lasted
+ * longer than the depth of the tree), the algorithm leaves the tree and returns an empty guess from
+ * then on. The nodes visited in each round are remembered, so rewinding is simply moving back to
+ * an earlier node.
+ * 
+ * @author Stoyan Rachev
+ */
+public class StrategyAlgorithm implements Algorithm
+{
+    private static final int INITIAL_ROUNDS = 16;
+
+    private final transient Mastermind mastermind;
+    private final transient StrategyTree tree;
+
+    private transient int[] nodes = new int[INITIAL_ROUNDS];
+    private transient int rounds;
+    private transient int node = StrategyTree.ROOT;
+
+    /**
+     * Creates a new algorithm playing the specified strategy tree.
+     * 
+     * @param mastermind The game setup to use.
+     * @param tree The strategy tree to play, compiled for the same game setup.
+     */
+    public StrategyAlgorithm(final Mastermind mastermind, final StrategyTree tree)
+    {
+        assert (mastermind != null && tree != null);
+        this.mastermind = mastermind;
+        this.tree = tree;
+    }
+
+    @Override
+    public final String makeGuess()
+    {
+        return (node != StrategyTree.NONE) ? mastermind.getCodes().getCode(tree.getGuess(node))
+            : "";
+    }
+
+    @Override
+    public final String makeGuess(final long timeout)
+    {
+        return makeGuess();
+    }
+
+    @Override
+    public final boolean isGuessComplete()
+    {
+        return true;
+    }
+
+    @Override
+    public final void putGuessScore(final String guess, final Score score)
+    {
+        assert (mastermind.isValidCode(guess) && mastermind.isValidScore(score));
+        if (rounds == nodes.length)
+        {
+            nodes = Arrays.copyOf(nodes, rounds * 2);
+        }
+        nodes[rounds++] = node;
+        if (node != StrategyTree.NONE)
+        {
+            if (mastermind.getCodes().getIndex(guess) == tree.getGuess(node))
+            {
+                node = tree.getChild(node, mastermind.getScoreIndex(score));
+            }
+            else
+            {
+                node = StrategyTree.NONE;
+            }
+        }
+    }
+
+    @Override
+    public final int getRounds()
+    {
+        return rounds;
+    }
+
+    @Override
+    public final void rewind(final int round)
+    {
+        assert (round >= 0 && round <= rounds);
+        if (round < rounds)
+        {
+            node = nodes[round];
+        }
+        rounds = round;
+    }
+}
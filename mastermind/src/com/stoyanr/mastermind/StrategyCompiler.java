@@ -0,0 +1,117 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import java.util.List;
+
+/**
+ * A compiler which expands the complete decision tree of a particular algorithm for a given game
+ * setup, down to every leaf, and stores it as a {@link StrategyTree}. Unlike
+ * {@link GuessCalculator}, which precalculates guesses only for a fixed number of levels, the
+ * compiled tree covers every game that can be played with the algorithm, so playing it with a
+ * {@link StrategyAlgorithm} requires no algorithm computations at all.
+ * 
+ * <p>
+ * The tree is expanded depth-first by a single algorithm instance. At each node, the algorithm is
+ * asked to make a guess. The set of codes that are still possible at the node is then partitioned
+ * by their scores against this guess, and a child node is expanded for each non-empty part, except
+ * for the winning score. Before expanding a child, the algorithm is fed with the score of its part,
+ * and afterwards it is rewound to the depth of the node. The expansion stops at the specified max
+ * depth, which is needed only for algorithms that may never find the code.
+ * 
+ * @author Stoyan Rachev
+ */
+public class StrategyCompiler
+{
+    private final transient Mastermind mastermind;
+    private final transient AlgorithmFactory factory;
+    private final transient int maxRounds;
+
+    private final transient CodeTable codes;
+    private final transient List<Score> allScores;
+    private final transient int winningScore;
+
+    private transient Algorithm algorithm;
+
+    /**
+     * Creates a new compiler for the specified game setup, algorithm, and max number of rounds.
+     * 
+     * @param mastermind The game setup to use.
+     * @param factory The algorithm factory used to produce the single algorithm instance, which
+     * is rewound while expanding the tree, for each compilation.
+     * @param maxRounds The max depth of the compiled tree. Games that are not won within this
+     * number of rounds leave the tree.
+     */
+    public StrategyCompiler(final Mastermind mastermind, final AlgorithmFactory factory,
+        final int maxRounds)
+    {
+        assert (mastermind != null && factory != null && maxRounds > 0);
+        this.mastermind = mastermind;
+        this.factory = factory;
+        this.maxRounds = maxRounds;
+        this.codes = mastermind.getCodes();
+        this.allScores = mastermind.getAllPossibleScores();
+        this.winningScore = mastermind.getScoreIndex(mastermind.getWinningScore());
+    }
+
+    /**
+     * Compiles the complete decision tree of the algorithm. This may take some time for larger
+     * setups, as the algorithm is asked to make a guess once for each node of the tree.
+     * 
+     * @return The compiled strategy tree.
+     */
+    public final StrategyTree compile()
+    {
+        final GuessTrie trie = new GuessTrie(allScores.size());
+        algorithm = factory.getAlgorithm();
+        try
+        {
+            compileNode(trie, GuessTrie.ROOT, mastermind.getAllCodes(), 0);
+        }
+        finally
+        {
+            algorithm = null;
+        }
+        return trie.toStrategyTree();
+    }
+
+    // @checkstyle:off (Too many parameters)
+    private void compileNode(final GuessTrie trie, final int node, final CodeSet possibleCodes,
+        final int depth)
+    // @checkstyle:on
+    {
+        assert (algorithm.getRounds() == depth);
+        final String guess = algorithm.makeGuess();
+        assert !guess.isEmpty();
+        final int guessIndex = codes.getIndex(guess);
+        trie.setGuess(node, guessIndex);
+        if (depth < maxRounds - 1)
+        {
+            final CodeSet[] parts = mastermind.evaluatePartition(guessIndex, possibleCodes);
+            for (int i = 0; i < allScores.size(); i++)
+            {
+                if (i != winningScore && !parts[i].isEmpty())
+                {
+                    algorithm.putGuessScore(guess, allScores.get(i));
+                    compileNode(trie, trie.addChild(node, i), parts[i], depth + 1);
+                    algorithm.rewind(depth);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+/**
+ * A complete strategy for a particular game setup, stored as a flat array-encoded decision tree.
+ * Each node of the tree is identified by its index and contains the index of the guess to be made
+ * in the {@link CodeTable} of the game setup, as well as the index of the child node to proceed to
+ * for each possible score of this guess. The children of node <code>n</code> are stored at indexes
+ * <code>n * s</code> to <code>n * s + s - 1</code> of a single array, where <code>s</code> is the
+ * number of all possible scores, in the order of {@link Mastermind#getAllPossibleScores()}. A
+ * missing child (for the winning score, or for a score that can't occur) is stored as -1. The root
+ * of the tree is node 0.
+ * 
+ * <p>
+ * Playing a game with a strategy tree is therefore just walking the tree, with no algorithm
+ * computations at all. Strategy trees are produced by {@link StrategyCompiler} and played by
+ * {@link StrategyAlgorithm}. They are built node by node as a {@link GuessTrie}, which has the same
+ * layout, and then frozen via {@link GuessTrie#toStrategyTree()}. Once constructed, a tree is
+ * immutable and can be shared by any number of algorithms and threads.
+ * 
+ * @author Stoyan Rachev
+ */
+public class StrategyTree
+{
+    public static final int ROOT = GuessTrie.ROOT;
+    public static final int NONE = GuessTrie.NONE;
+
+    private final transient int[] guesses;
+    private final transient int[] children;
+    private final transient int numScores;
+
+    /**
+     * Creates a new strategy tree with the specified guesses and children. The tree takes
+     * ownership of the passed arrays, which should not be modified afterwards.
+     * 
+     * @param guesses The guess indexes of all nodes.
+     * @param children The child node indexes of all nodes, <code>numScores</code> per node.
+     * @param numScores The number of all possible scores.
+     */
+    StrategyTree(final int[] guesses, final int[] children, final int numScores)
+    {
+        assert (guesses != null && children != null && guesses.length > 0);
+        assert (children.length == guesses.length * numScores);
+        this.guesses = guesses;
+        this.children = children;
+        this.numScores = numScores;
+    }
+
+    /**
+     * Returns the number of nodes in the tree.
+     * 
+     * @return The number of nodes.
+     */
+    public final int size()
+    {
+        return guesses.length;
+    }
+
+    /**
+     * Returns the number of all possible scores, which is also the number of children per node.
+     * 
+     * @return The number of all possible scores.
+     */
+    public final int getNumScores()
+    {
+        return numScores;
+    }
+
+    /**
+     * Returns the index of the guess to be made at the specified node.
+     * 
+     * @param node The node index.
+     * @return The guess index.
+     */
+    public final int getGuess(final int node)
+    {
+        return guesses[node];
+    }
+
+    /**
+     * Returns the child of the specified node for the score with the specified index, or
+     * {@link #NONE} if there is no such child.
+     * 
+     * @param node The node index.
+     * @param score The index of the score in the list of all possible scores.
+     * @return The child node index, or {@link #NONE}.
+     */
+    public final int getChild(final int node, final int score)
+    {
+        return children[node * numScores + score];
+    }
+}
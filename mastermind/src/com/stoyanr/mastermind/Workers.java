@@ -0,0 +1,112 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * A shared pool of worker threads used by the parallel modes of this package. The pool grows on
+ * demand and reuses idle threads, and its threads are daemon threads, so they never prevent the
+ * program from exiting.
+ * 
+ * <p>
+ * Tasks submitted through {@link #invokeAll(List)} should not themselves submit tasks to this
+ * class and wait for them.
+ * 
+ * @author Stoyan Rachev
+ */
+public final class Workers
+{
+    private static final ExecutorService EXECUTOR = Executors
+        .newCachedThreadPool(new DaemonThreadFactory());
+
+    private Workers()
+    {
+    }
+
+    /**
+     * Returns the default number of worker threads, which is the number of available processors.
+     * 
+     * @return The default number of worker threads.
+     */
+    public static int getDefaultThreads()
+    {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Executes the passed tasks in parallel and waits for all of them to complete.
+     * 
+     * @param tasks The tasks to execute.
+     * @return The results of the tasks, in the same order as the tasks.
+     * @throws MastermindException If any of the tasks threw an exception, or if the current thread
+     * was interrupted while waiting.
+     */
+    public static <T> List<T> invokeAll(final List<? extends Callable<T>> tasks)
+    {
+        assert (tasks != null);
+        final List<T> result = new ArrayList<T>(tasks.size());
+        try
+        {
+            for (final Future<T> future : EXECUTOR.invokeAll(tasks))
+            {
+                result.add(future.get());
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new MastermindException(e);
+        }
+        catch (ExecutionException e)
+        {
+            throw wrap(e.getCause());
+        }
+        return result;
+    }
+
+    static RuntimeException wrap(final Throwable cause)
+    {
+        if (cause instanceof Error)
+        {
+            throw (Error) cause;
+        }
+        return (cause instanceof RuntimeException) ? (RuntimeException) cause
+            : new MastermindException((Exception) cause);
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory
+    {
+        private final transient ThreadFactory factory = Executors.defaultThreadFactory();
+
+        @Override
+        public Thread newThread(final Runnable runnable)
+        {
+            final Thread thread = factory.newThread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -1,98 +1,131 @@
-/*
- * $Id: $
- *
- * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- * 
- *     http://www.apache.org/licenses/LICENSE-2.0
- * 
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-package com.stoyanr.mastermind;
-
-import static com.stoyanr.mastermind.Constants.*;
-import static org.junit.Assert.assertEquals;
-
-import java.util.Arrays;
-import java.util.Collection;
-
-import org.junit.Before;
-import org.junit.Test;
-import org.junit.runner.RunWith;
-import org.junit.runners.Parameterized;
-import org.junit.runners.Parameterized.Parameters;
-
-@RunWith(value = Parameterized.class)
-public class AlgorithmEvaluatorTest
-{
-    private static final String M_WRONG_GAMES_PLAYED = "Wrong games played:";
-    private static final String M_WRONG_GAMES_WON = "Wrong games won:";
-    private static final String M_WRONG_MAX_ROUNDS = "Wrong max rounds:";
-    private static final String M_WRONG_TOTAL_ROUNDS = "Wrong total rounds:";
-    private static final String M_WRONG_AVERAGE_ROUNDS = "Wrong average rounds:";
-
-    private static final double PRECISION = 0.0000001;
-
-    private final transient Mastermind mastermind;
-    private final transient AlgorithmFactory factory;
-    private final transient int numGames;
-    private final transient int maxRounds;
-    private final transient int totalRounds;
-
-    private transient AlgorithmEvaluator evaluator;
-
-    public AlgorithmEvaluatorTest(final Mastermind mastermind, final AlgorithmFactory factory, 
-        final int numGames, final int maxRounds, final int totalRounds)
-    {
-        super();
-        this.mastermind = mastermind;
-        this.factory = factory;
-        this.numGames = numGames;
-        this.maxRounds = maxRounds;
-        this.totalRounds = totalRounds;
-    }
-
-    @Parameters
-    public static Collection<Object[]> data()
-    {
-        // @formatter:off, @checkstyle:off
-        final Object[][] data = new Object[][]
-        {
-            { MM2, new SimpleAlgorithmFactory(MM2), MM2_NUM_GAMES, MM2_MAX_ROUNDS_SIMPLE, MM2_TOTAL_ROUNDS_SIMPLE },
-            { MM2, new KnuthAlgorithmFactory(MM2), MM2_NUM_GAMES, MM2_MAX_ROUNDS_KNUTH, MM2_TOTAL_ROUNDS_KNUTH },
-            { MM2, new ExpectedSizeAlgorithmFactory(MM2), MM2_NUM_GAMES, MM2_MAX_ROUNDS_ESIZE, MM2_TOTAL_ROUNDS_ESIZE },
-            { MM2, new DumbAlgorithmFactory(MM2), MM2_NUM_GAMES, MM2_MAX_ROUNDS_DUMB, MM2_TOTAL_ROUNDS_DUMB },
-        };
-        // @formatter:on, @checkstyle:on
-        return Arrays.asList(data);
-    }
-
-    @Before
-    public final void setUp()
-    {
-        // @checkstyle:off (Magic numbers)
-        evaluator = new AlgorithmEvaluator(mastermind, factory, 4);
-        // @checkstyle:on
-    }
-
-    @Test
-    public final void testEvaluate()
-    {
-        evaluator.evaluate();
-        assertEquals(M_WRONG_GAMES_PLAYED, numGames, evaluator.getGamesPlayed());
-        final int expectedGamesWon = (factory instanceof DumbAlgorithmFactory) ? 1 : numGames;
-        assertEquals(M_WRONG_GAMES_WON, expectedGamesWon, evaluator.getGamesWon());
-        assertEquals(M_WRONG_MAX_ROUNDS, maxRounds, evaluator.getMaxRoundsPlayed());
-        assertEquals(M_WRONG_TOTAL_ROUNDS, totalRounds, evaluator.getTotalRoundsPlayed());
-        final double expectedAvgRounds = (double) totalRounds / (double) numGames;
-        assertEquals(M_WRONG_AVERAGE_ROUNDS, expectedAvgRounds, evaluator.getAverageRoundsPlayed(),
-            PRECISION);
-    }
-}
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import static com.stoyanr.mastermind.Constants.*;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(value = Parameterized.class)
+public class AlgorithmEvaluatorTest
+{
+    private static final String M_WRONG_GAMES_PLAYED = "Wrong games played:";
+    private static final String M_WRONG_GAMES_WON = "Wrong games won:";
+    private static final String M_WRONG_MAX_ROUNDS = "Wrong max rounds:";
+    private static final String M_WRONG_TOTAL_ROUNDS = "Wrong total rounds:";
+    private static final String M_WRONG_AVERAGE_ROUNDS = "Wrong average rounds:";
+
+    private static final double PRECISION = 0.0000001;
+
+    private final transient Mastermind mastermind;
+    private final transient AlgorithmFactory factory;
+    private final transient int numGames;
+    private final transient int maxRounds;
+    private final transient int totalRounds;
+
+    private final transient int threads;
+
+    private transient AlgorithmEvaluator evaluator;
+
+    public AlgorithmEvaluatorTest(final Mastermind mastermind, final AlgorithmFactory factory, 
+        final int numGames, final int maxRounds, final int totalRounds, final int threads)
+    {
+        super();
+        this.mastermind = mastermind;
+        this.factory = factory;
+        this.numGames = numGames;
+        this.maxRounds = maxRounds;
+        this.totalRounds = totalRounds;
+        this.threads = threads;
+    }
+
+    @Parameters
+    public static Collection<Object[]> data()
+    {
+        // @formatter:off, @checkstyle:off
+        final Object[][] data = new Object[][]
+        {
+            { MM2, new SimpleAlgorithmFactory(MM2), MM2_NUM_GAMES, MM2_MAX_ROUNDS_SIMPLE, MM2_TOTAL_ROUNDS_SIMPLE, 1 },
+            { MM2, new KnuthAlgorithmFactory(MM2), MM2_NUM_GAMES, MM2_MAX_ROUNDS_KNUTH, MM2_TOTAL_ROUNDS_KNUTH, 1 },
+            { MM2, new ExpectedSizeAlgorithmFactory(MM2), MM2_NUM_GAMES, MM2_MAX_ROUNDS_ESIZE, MM2_TOTAL_ROUNDS_ESIZE, 1 },
+            { MM2, new DumbAlgorithmFactory(MM2), MM2_NUM_GAMES, MM2_MAX_ROUNDS_DUMB, MM2_TOTAL_ROUNDS_DUMB, 1 },
+            { MM2, new SimpleAlgorithmFactory(MM2), MM2_NUM_GAMES, MM2_MAX_ROUNDS_SIMPLE, MM2_TOTAL_ROUNDS_SIMPLE, 3 },
+            { MM2, new KnuthAlgorithmFactory(MM2), MM2_NUM_GAMES, MM2_MAX_ROUNDS_KNUTH, MM2_TOTAL_ROUNDS_KNUTH, 3 },
+            { MM2, new ExpectedSizeAlgorithmFactory(MM2), MM2_NUM_GAMES, MM2_MAX_ROUNDS_ESIZE, MM2_TOTAL_ROUNDS_ESIZE, 3 },
+            { MM2, new DumbAlgorithmFactory(MM2), MM2_NUM_GAMES, MM2_MAX_ROUNDS_DUMB, MM2_TOTAL_ROUNDS_DUMB, 3 },
+        };
+        // @formatter:on, @checkstyle:on
+        return Arrays.asList(data);
+    }
+
+    @Before
+    public final void setUp()
+    {
+        // @checkstyle:off (Magic numbers)
+        evaluator = new AlgorithmEvaluator(mastermind, factory, 4);
+        // @checkstyle:on
+        evaluator.setThreads(threads);
+    }
+
+    @Test
+    public final void testEvaluate()
+    {
+        evaluator.evaluate();
+        checkStatistics();
+    }
+
+    @Test
+    public final void testEvaluateTreeWalk()
+    {
+        evaluator.setTreeWalk(true);
+        evaluator.evaluate();
+        checkStatistics();
+    }
+
+    @Test
+    public final void testEvaluateLazy()
+    {
+        // @checkstyle:off (Magic numbers)
+        evaluator = new AlgorithmEvaluator(mastermind, factory,
+            GuessCalculator.createLazy(mastermind, factory, 4));
+        // @checkstyle:on
+        evaluator.setThreads(threads);
+        evaluator.evaluate();
+        checkStatistics();
+    }
+
+    private void checkStatistics()
+    {
+        assertEquals(M_WRONG_GAMES_PLAYED, numGames, evaluator.getGamesPlayed());
+        final int expectedGamesWon = (factory instanceof DumbAlgorithmFactory) ? 1 : numGames;
+        assertEquals(M_WRONG_GAMES_WON, expectedGamesWon, evaluator.getGamesWon());
+        assertEquals(M_WRONG_MAX_ROUNDS, maxRounds, evaluator.getMaxRoundsPlayed());
+        assertEquals(M_WRONG_TOTAL_ROUNDS, totalRounds, evaluator.getTotalRoundsPlayed());
+        final double expectedAvgRounds = (double) totalRounds / (double) numGames;
+        assertEquals(M_WRONG_AVERAGE_ROUNDS, expectedAvgRounds, evaluator.getAverageRoundsPlayed(),
+            PRECISION);
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import static com.stoyanr.mastermind.Constants.*;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.SortedSet;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(value = Parameterized.class)
+public class CodeSetTest
+{
+    private static final String M_WRONG_SIZE = "Wrong size:";
+    private static final String M_WRONG_CODES = "Wrong codes:";
+    private static final String M_WRONG_CONTAINS = "Wrong contains:";
+    private static final String M_NOT_SHARED = "Code set not shared";
+    private static final String M_WRONG_HASH = "Wrong hash:";
+    private static final String M_WRONG_EQUALITY = "Wrong equality:";
+
+    private final transient Mastermind mastermind;
+    private final transient String guess;
+    private final transient Score score;
+
+    public CodeSetTest(final Mastermind mastermind, final String guess, final Score score)
+    {
+        this.mastermind = mastermind;
+        this.guess = guess;
+        this.score = score;
+    }
+
+    @Parameters
+    public static Collection<Object[]> data()
+    {
+        // @formatter:off
+        final Object[][] data = new Object[][]
+        {
+            { MM1, "AABB", Score.ZERO_SCORE },
+            { MM1, MM1_CODE, new Score(1, 1) },
+            { MM2, MM2_CODE, new Score(0, 1) },
+            { new Mastermind("0123456789", 2, true), "12", new Score(1, 0) },
+        };
+        // @formatter:on
+        return Arrays.asList(data);
+    }
+
+    @Test
+    public final void testAll()
+    {
+        final int capacity = mastermind.getCodes().size();
+        final CodeSet all = CodeSet.all(capacity);
+        assertEquals(M_WRONG_SIZE, capacity, all.size());
+        final int[] codes = all.toArray();
+        for (int i = 0; i < capacity; i++)
+        {
+            assertEquals(M_WRONG_CODES, i, codes[i]);
+        }
+    }
+
+    @Test
+    public final void testGetAllCodes()
+    {
+        final CodeSet all = mastermind.getAllCodes();
+        assertArrayEquals(M_WRONG_CODES, CodeSet.all(all.capacity()).toArray(), all.toArray());
+        final AbstractAlgorithm algorithm1 = new KnuthAlgorithm(mastermind);
+        final AbstractAlgorithm algorithm2 = new SimpleAlgorithm(mastermind);
+        assertSame(M_NOT_SHARED, all, algorithm1.getPossibleCodes());
+        assertSame(M_NOT_SHARED, all, algorithm2.getPossibleCodes());
+    }
+
+    @Test
+    public final void testEvaluatePossibleCodes()
+    {
+        final CodeTable codes = mastermind.getCodes();
+        final SortedSet<String> expected =
+            mastermind.evaluatePossibleCodes(guess, score, mastermind.getAllPossibleCodes());
+        final CodeSet set =
+            mastermind.evaluatePossibleCodes(codes.getIndex(guess), score,
+                CodeSet.all(codes.size()));
+        assertEquals(M_WRONG_SIZE, expected.size(), set.size());
+        final int[] expectedCodes = new int[expected.size()];
+        int i = 0;
+        for (final String code : expected)
+        {
+            expectedCodes[i++] = codes.getIndex(code);
+        }
+        assertArrayEquals(M_WRONG_CODES, expectedCodes, set.toArray());
+        for (int code = 0; code < codes.size(); code++)
+        {
+            assertEquals(M_WRONG_CONTAINS, expected.contains(codes.getCode(code)),
+                set.contains(code));
+        }
+    }
+
+    @Test
+    public final void testEvaluatePartition()
+    {
+        final int guessx = mastermind.getCodes().getIndex(guess);
+        final CodeSet all = mastermind.getAllCodes();
+        final CodeSet[] parts = mastermind.evaluatePartition(guessx, all);
+        final List<Score> scores = mastermind.getAllPossibleScores();
+        assertEquals(M_WRONG_SIZE, scores.size(), parts.length);
+        int size = 0;
+        for (int i = 0; i < parts.length; i++)
+        {
+            final CodeSet expected = mastermind.evaluatePossibleCodes(guessx, scores.get(i), all);
+            assertArrayEquals(M_WRONG_CODES, expected.toArray(), parts[i].toArray());
+            size += parts[i].size();
+        }
+        assertEquals(M_WRONG_SIZE, all.size(), size);
+    }
+
+    @Test
+    public final void testHash()
+    {
+        final int guessx = mastermind.getCodes().getIndex(guess);
+        final CodeSet all = mastermind.getAllCodes();
+        final long[] keys = new long[all.capacity()];
+        final Random random = new Random(0L);
+        for (int i = 0; i < keys.length; i++)
+        {
+            keys[i] = random.nextLong();
+        }
+        final CodeSet[] parts = mastermind.evaluatePartition(guessx, all);
+        final List<Score> scores = mastermind.getAllPossibleScores();
+        long hash = 0L;
+        for (int i = 0; i < parts.length; i++)
+        {
+            final CodeSet expected = mastermind.evaluatePossibleCodes(guessx, scores.get(i), all);
+            assertEquals(M_WRONG_EQUALITY, expected, parts[i]);
+            assertEquals(M_WRONG_HASH, expected.hash(keys), parts[i].hash(keys));
+            assertEquals(M_WRONG_HASH, expected.hashCode(), parts[i].hashCode());
+            assertFalse(M_WRONG_EQUALITY, all.equals(parts[i]));
+            hash ^= parts[i].hash(keys);
+        }
+        assertEquals(M_WRONG_HASH, all.hash(keys), hash);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import static com.stoyanr.mastermind.Constants.*;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(value = Parameterized.class)
+public class CodeSpaceTest
+{
+    private static final String M_WRONG_SIZE = "Wrong size:";
+    private static final String M_WRONG_CODE = "Wrong code:";
+    private static final String M_WRONG_INDEX = "Wrong index:";
+
+    private static final int THREADS = 3;
+    private static final int NUM_SAMPLES = 1000;
+
+    private final transient Mastermind mastermind;
+    private final transient long size;
+    private final transient String last;
+
+    public CodeSpaceTest(final Mastermind mastermind, final long size, final String last)
+    {
+        this.mastermind = mastermind;
+        this.size = size;
+        this.last = last;
+    }
+
+    @Parameters
+    public static Collection<Object[]> data()
+    {
+        final String alphabet = Mastermind.VALID_ALPHABET_CHARS;
+        final int length = Mastermind.MAX_LENGTH;
+        // @formatter:off, @checkstyle:off (Magic numbers)
+        final Object[][] data = new Object[][]
+        {
+            { MM1, 1296L, "FFFF" },
+            { MM2, 16L, "DD" },
+            { new Mastermind("1234", 2, true), 12L, "43" },
+            { new Mastermind("0123456789", 4, true), 5040L, "9876" },
+            { new Mastermind(alphabet, length, false), 198359290368L, "HHHHHHHHH" },
+            { new Mastermind(alphabet, length, true), 17643225600L, "HGFEDCBA9" },
+        };
+        // @formatter:on, @checkstyle:on
+        return Arrays.asList(data);
+    }
+
+    @Test
+    public final void testSize()
+    {
+        final CodeSpace space = mastermind.getCodeSpace();
+        assertEquals(M_WRONG_SIZE, size, space.size());
+        assertEquals(M_WRONG_CODE, last, space.getCode(size - 1));
+        assertEquals(M_WRONG_INDEX, size - 1, space.getIndex(space.pack(last)));
+    }
+
+    @Test
+    public final void testGetIndex()
+    {
+        final CodeSpace space = mastermind.getCodeSpace();
+        final long step = Math.max(size / NUM_SAMPLES, 1);
+        for (long index = 0; index < size; index += step)
+        {
+            final long packed = space.getPacked(index);
+            assertEquals(M_WRONG_INDEX, index, space.getIndex(packed));
+            assertEquals(M_WRONG_CODE, packed, space.pack(space.getCode(index)));
+        }
+    }
+
+    @Test
+    public final void testVisitCodes()
+    {
+        final CodeSpace space = mastermind.getCodeSpace();
+        final long from = Math.max(size - NUM_SAMPLES, 0);
+        final List<String> codes = new ArrayList<String>();
+        space.visitCodes(from, size, new CodeVisitor()
+        {
+            @Override
+            public void visit(final String code)
+            {
+                codes.add(code);
+            }
+        });
+        assertEquals(M_WRONG_SIZE, size - from, codes.size());
+        for (int i = 0; i < codes.size(); i++)
+        {
+            assertEquals(M_WRONG_CODE, space.getCode(from + i), codes.get(i));
+        }
+    }
+
+    @Test
+    public final void testVisitCodesParallel()
+    {
+        if (size <= Integer.MAX_VALUE)
+        {
+            final CodeTable table = mastermind.getCodes();
+            final AtomicInteger count = new AtomicInteger();
+            mastermind.visitCodes(new CodeVisitor()
+            {
+                @Override
+                public void visit(final String code)
+                {
+                    assertEquals(M_WRONG_CODE, code, table.getCode(table.getIndex(code)));
+                    count.incrementAndGet();
+                }
+            }, THREADS);
+            assertEquals(M_WRONG_SIZE, size, count.get());
+            for (int i = 0; i < table.size(); i++)
+            {
+                assertEquals(M_WRONG_CODE, table.getPacked(i), mastermind.getCodeSpace()
+                    .getPacked(i));
+            }
+        }
+    }
+}
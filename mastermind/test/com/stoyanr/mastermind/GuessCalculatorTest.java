@@ -1,129 +1,313 @@
-/*
- * $Id: $
- *
- * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- * 
- *     http://www.apache.org/licenses/LICENSE-2.0
- * 
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-package com.stoyanr.mastermind;
-
-import static com.stoyanr.mastermind.Constants.MM2;
-import static org.junit.Assert.assertEquals;
-
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.List;
-
-import org.junit.Before;
-import org.junit.Test;
-import org.junit.runner.RunWith;
-import org.junit.runners.Parameterized;
-import org.junit.runners.Parameterized.Parameters;
-
-@RunWith(value = Parameterized.class)
-public class GuessCalculatorTest
-{
-    private static final String M_WRONG_GUESS = "Wrong guess:";
-    
-    private final transient Mastermind mastermind;
-    private final transient AlgorithmFactory factory;
-    private final transient List<Score> scores;
-    
-    private transient GuessCalculator calc;
-    private transient ReadyGuesses guesses;
-    
-    @Parameters
-    public static Collection<Object[]> data()
-    {
-        // @formatter:off
-        final Object[][] data = new Object[][]
-        {
-            { MM2, new SimpleAlgorithmFactory(MM2) },
-            { MM2, new KnuthAlgorithmFactory(MM2) },
-            { MM2, new ExpectedSizeAlgorithmFactory(MM2) },
-            { MM2, new DumbAlgorithmFactory(MM2) },
-        };
-        // @formatter:on
-        return Arrays.asList(data);
-    }
-    
-    public GuessCalculatorTest(final Mastermind mastermind, final AlgorithmFactory factory)
-    {
-        super();
-        this.mastermind = mastermind;
-        this.factory = factory;
-        this.scores = mastermind.getAllPossibleScores();
-    }
-
-    @Before
-    public final void setUp()
-    {
-        // @checkstyle:off (Magic numbers)
-        calc = new GuessCalculator(mastermind, factory, 4);
-        // @checkstyle:on
-        guesses = new ReadyGuesses(mastermind, factory);
-    }
-
-    @Test
-    public final void testGetFirstGuess()
-    {
-        final String guess = calc.getGuess(new ArrayList<Score>(), 0);
-        final String expected = guesses.getFirstGuess();
-        assertEquals(M_WRONG_GUESS, expected, guess);
-    }
-    
-    @Test
-    public final void testGetSecondGuess()
-    {
-        for (Score score : scores)
-        {
-            final String guess = calc.getGuess(Arrays.asList(score), 1);
-            final String expected = guesses.getSecondGuess(score);
-            assertEquals(M_WRONG_GUESS, expected, guess);
-        }
-    }
-
-    @Test
-    public final void testGetThirdGuess()
-    {
-        for (Score score1 : scores)
-        {
-            for (Score score2 : scores)
-            {
-                final String guess = calc.getGuess(Arrays.asList(score1, score2), 2);
-                final String expected = guesses.getThirdGuess(score1, score2);
-                assertEquals(M_WRONG_GUESS, expected, guess);
-            }
-        }
-    }
-    
-    @Test
-    public final void testGetFourthGuess()
-    {
-        for (Score score1 : scores)
-        {
-            for (Score score2 : scores)
-            {
-                for (Score score3 : scores)
-                {
-                    // @checkstyle:off (Magic numbers)
-                    final String guess = calc.getGuess(Arrays.asList(score1, score2, score3), 3);
-                    // @checkstyle:on
-                    final String expected = guesses.getFourthGuess(score1, score2, score3);
-                    assertEquals(M_WRONG_GUESS, expected, guess);
-                }
-            }
-        }
-    }
-}
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import static com.stoyanr.mastermind.Constants.MM2;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(value = Parameterized.class)
+public class GuessCalculatorTest
+{
+    private static final String M_WRONG_GUESS = "Wrong guess:";
+    private static final String M_NO_CACHE_FILE = "No cache file";
+    private static final String M_NO_OPENING_BOOK = "No opening book";
+    private static final String M_NOT_READ = "Not read";
+    private static final String M_NOT_FOUND = "Not found";
+    private static final String M_WRONG_LAZY = "Wrong lazy:";
+    private static final String M_UNEXPECTED_CALCULATOR = "Unexpected calculator";
+    private static final String M_INVALID_READ = "Invalid content read";
+    private static final String CACHE_DIR_PREFIX = "mastermind";
+    private static final String CACHE_ALGORITHM = "test";
+    
+    private final transient Mastermind mastermind;
+    private final transient AlgorithmFactory factory;
+    private final transient boolean cached;
+    private final transient boolean opening;
+    private final transient boolean lazy;
+    private final transient int threads;
+    private final transient List<Score> scores;
+    
+    private transient File cacheDir;
+    private transient GuessCalculator calc;
+    private transient ReadyGuesses guesses;
+    
+    @Parameters
+    public static Collection<Object[]> data()
+    {
+        // @formatter:off
+        final Object[][] data = new Object[][]
+        {
+            { MM2, new SimpleAlgorithmFactory(MM2), false, false, false, 1 },
+            { MM2, new KnuthAlgorithmFactory(MM2), false, false, false, 1 },
+            { MM2, new ExpectedSizeAlgorithmFactory(MM2), false, false, false, 1 },
+            { MM2, new DumbAlgorithmFactory(MM2), false, false, false, 1 },
+            { MM2, new SimpleAlgorithmFactory(MM2), false, true, false, 1 },
+            { MM2, new KnuthAlgorithmFactory(MM2), false, true, false, 1 },
+            { MM2, new ExpectedSizeAlgorithmFactory(MM2), false, true, false, 1 },
+            { MM2, new DumbAlgorithmFactory(MM2), false, true, false, 1 },
+            { MM2, new SimpleAlgorithmFactory(MM2), true, true, false, 1 },
+            { MM2, new KnuthAlgorithmFactory(MM2), true, true, false, 1 },
+            { MM2, new ExpectedSizeAlgorithmFactory(MM2), true, true, false, 1 },
+            { MM2, new DumbAlgorithmFactory(MM2), true, true, false, 1 },
+            { MM2, new SimpleAlgorithmFactory(MM2), false, false, true, 1 },
+            { MM2, new KnuthAlgorithmFactory(MM2), false, false, true, 1 },
+            { MM2, new ExpectedSizeAlgorithmFactory(MM2), false, false, true, 1 },
+            { MM2, new DumbAlgorithmFactory(MM2), false, false, true, 1 },
+            { MM2, new SimpleAlgorithmFactory(MM2), false, false, false, 3 },
+            { MM2, new KnuthAlgorithmFactory(MM2), false, false, false, 3 },
+            { MM2, new ExpectedSizeAlgorithmFactory(MM2), false, false, false, 3 },
+            { MM2, new DumbAlgorithmFactory(MM2), false, false, false, 3 },
+            { MM2, new SimpleAlgorithmFactory(MM2), false, true, false, 3 },
+            { MM2, new KnuthAlgorithmFactory(MM2), false, true, false, 3 },
+            { MM2, new ExpectedSizeAlgorithmFactory(MM2), false, true, false, 3 },
+            { MM2, new DumbAlgorithmFactory(MM2), false, true, false, 3 },
+            { MM2, new SimpleAlgorithmFactory(MM2), true, true, false, 3 },
+            { MM2, new KnuthAlgorithmFactory(MM2), true, true, false, 3 },
+            { MM2, new ExpectedSizeAlgorithmFactory(MM2), true, true, false, 3 },
+            { MM2, new DumbAlgorithmFactory(MM2), true, true, false, 3 },
+        };
+        // @formatter:on
+        return Arrays.asList(data);
+    }
+    
+    public GuessCalculatorTest(final Mastermind mastermind, final AlgorithmFactory factory,
+        final boolean cached, final boolean opening, final boolean lazy, final int threads)
+    {
+        super();
+        this.mastermind = mastermind;
+        this.factory = factory;
+        this.cached = cached;
+        this.opening = opening;
+        this.lazy = lazy;
+        this.threads = threads;
+        this.scores = mastermind.getAllPossibleScores();
+    }
+
+    @Before
+    public final void setUp() throws IOException
+    {
+        // @checkstyle:off (Magic numbers)
+        if (cached)
+        {
+            cacheDir = File.createTempFile(CACHE_DIR_PREFIX, "");
+            assertTrue(cacheDir.delete() && cacheDir.mkdir());
+            final GuessCalculatorCache cache = new GuessCalculatorCache(cacheDir, CACHE_ALGORITHM);
+            cache.setThreads(threads);
+            cache.getCalculator(mastermind, factory, 4);
+            assertTrue(M_NO_CACHE_FILE, cache.getFile(mastermind, 4).isFile());
+            assertTrue(M_NO_OPENING_BOOK,
+                cache.getFile(mastermind, GuessCalculatorCache.OPENING_LEVELS).isFile());
+            calc = new GuessCalculatorCache(cacheDir, CACHE_ALGORITHM).getCalculator(mastermind,
+                factory, 4);
+        }
+        else if (opening)
+        {
+            calc = new GuessCalculator(new GuessCalculator(mastermind, factory, 2, threads), 4,
+                threads);
+        }
+        else
+        {
+            calc = lazy ? GuessCalculator.createLazy(mastermind, factory, 4)
+                : new GuessCalculator(mastermind, factory, 4, threads);
+        }
+        // @checkstyle:on
+        guesses = new ReadyGuesses(mastermind, factory);
+    }
+
+    @After
+    public final void tearDown()
+    {
+        if (cacheDir != null)
+        {
+            for (final File file : cacheDir.listFiles())
+            {
+                assertTrue(file.delete());
+            }
+            assertTrue(cacheDir.delete());
+        }
+    }
+
+    @Test
+    public final void testGetFirstGuess()
+    {
+        final String guess = calc.getGuess(new ArrayList<Score>(), 0);
+        final String expected = guesses.getFirstGuess();
+        assertEquals(M_WRONG_GUESS, expected, guess);
+    }
+    
+    @Test
+    public final void testGetSecondGuess()
+    {
+        for (Score score : scores)
+        {
+            final String guess = calc.getGuess(Arrays.asList(score), 1);
+            final String expected = guesses.getSecondGuess(score);
+            assertEquals(M_WRONG_GUESS, expected, guess);
+        }
+    }
+
+    @Test
+    public final void testGetThirdGuess()
+    {
+        for (Score score1 : scores)
+        {
+            for (Score score2 : scores)
+            {
+                final String guess = calc.getGuess(Arrays.asList(score1, score2), 2);
+                final String expected = guesses.getThirdGuess(score1, score2);
+                assertEquals(M_WRONG_GUESS, expected, guess);
+            }
+        }
+    }
+    
+    @Test
+    public final void testGetFourthGuess()
+    {
+        for (Score score1 : scores)
+        {
+            for (Score score2 : scores)
+            {
+                for (Score score3 : scores)
+                {
+                    // @checkstyle:off (Magic numbers)
+                    final String guess = calc.getGuess(Arrays.asList(score1, score2, score3), 3);
+                    // @checkstyle:on
+                    final String expected = guesses.getFourthGuess(score1, score2, score3);
+                    assertEquals(M_WRONG_GUESS, expected, guess);
+                }
+            }
+        }
+    }
+
+    @Test
+    public final void testGetGuessIndex()
+    {
+        final CodeTable codes = mastermind.getCodes();
+        final int[] path = new int[2];
+        for (Score score1 : scores)
+        {
+            path[0] = mastermind.getScoreIndex(score1);
+            assertEquals(M_WRONG_GUESS, calc.getGuess(Arrays.asList(score1), 1),
+                toGuess(codes, calc.getGuessIndex(path, 1)));
+            for (Score score2 : scores)
+            {
+                path[1] = mastermind.getScoreIndex(score2);
+                assertEquals(M_WRONG_GUESS, calc.getGuess(Arrays.asList(score1, score2), 2),
+                    toGuess(codes, calc.getGuessIndex(path, 2)));
+            }
+        }
+    }
+
+    @Test
+    public final void testIsLazy()
+    {
+        assertEquals(M_WRONG_LAZY, lazy, calc.isLazy());
+    }
+
+    @Test(expected = MastermindException.class)
+    public final void testExtendLazy()
+    {
+        // @checkstyle:off (Magic numbers)
+        new GuessCalculator(GuessCalculator.createLazy(mastermind, factory, 2), 4);
+        // @checkstyle:on
+    }
+
+    @Test
+    public final void testFindCalculator() throws IOException
+    {
+        // @checkstyle:off (Magic numbers)
+        final File dir = File.createTempFile(CACHE_DIR_PREFIX, "");
+        assertTrue(dir.delete() && dir.mkdir());
+        try
+        {
+            final GuessCalculatorCache cache = new GuessCalculatorCache(dir, CACHE_ALGORITHM);
+            assertNull(M_UNEXPECTED_CALCULATOR, cache.findCalculator(mastermind, factory, 1));
+            assertEquals(0, dir.listFiles().length);
+            cache.getCalculator(mastermind, factory, 3);
+            final GuessCalculatorCache cachex = new GuessCalculatorCache(dir, CACHE_ALGORITHM);
+            assertNotNull(M_NOT_FOUND, cachex.findCalculator(mastermind, factory, 1));
+            assertNotNull(M_NOT_FOUND, cachex.findCalculator(mastermind, factory, 3));
+            assertNull(M_UNEXPECTED_CALCULATOR, cachex.findCalculator(mastermind, factory, 4));
+        }
+        finally
+        {
+            for (final File file : dir.listFiles())
+            {
+                assertTrue(file.delete());
+            }
+            assertTrue(dir.delete());
+        }
+        // @checkstyle:on
+    }
+
+    @Test
+    public final void testReadInvalid() throws IOException
+    {
+        // @checkstyle:off (Magic numbers)
+        calc.getGuessIndex(new int[] { 0 }, 1);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        calc.write(new DataOutputStream(out));
+        final byte[] bytes = out.toByteArray();
+        assertNotNull(M_NOT_READ,
+            GuessCalculator.read(mastermind, factory, ByteBuffer.wrap(bytes)));
+        assertInvalid(Arrays.copyOf(bytes, bytes.length - 1), 0, calc.getLevels());
+        assertInvalid(bytes, 0, -1);
+        assertInvalid(bytes, 0, Integer.MAX_VALUE);
+        assertInvalid(bytes, 5, -1);
+        assertInvalid(bytes, 5, mastermind.getCodes().size());
+        final byte[] bytesx = Arrays.copyOf(bytes, bytes.length);
+        bytesx[4] = (byte) calc.getLevels();
+        assertInvalid(bytesx, 0, calc.getLevels());
+        bytesx[4] = 0;
+        bytesx[10] = (byte) scores.size();
+        assertInvalid(bytesx, 0, calc.getLevels());
+        // @checkstyle:on
+    }
+
+    private void assertInvalid(final byte[] bytes, final int index, final int value)
+    {
+        final ByteBuffer buffer = ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length));
+        buffer.putInt(index, value);
+        assertNull(M_INVALID_READ, GuessCalculator.read(mastermind, factory, buffer));
+    }
+
+    private static String toGuess(final CodeTable codes, final int index)
+    {
+        return (index != GuessTrie.NONE) ? codes.getCode(index) : "";
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import static com.stoyanr.mastermind.Constants.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(value = Parameterized.class)
+public class GuessSymmetryTest
+{
+    private static final String M_WRONG_SIZE = "Wrong size:";
+    private static final String M_NOT_CANONICAL = "Not canonical:";
+
+    private final transient Mastermind mastermind;
+    private final transient String[] guesses;
+    private final transient int size;
+    private final transient String[] canonical;
+
+    public GuessSymmetryTest(final Mastermind mastermind, final String[] guesses, final int size,
+        final String[] canonical)
+    {
+        this.mastermind = mastermind;
+        this.guesses = guesses;
+        this.size = size;
+        this.canonical = canonical;
+    }
+
+    @Parameters
+    public static Collection<Object[]> data()
+    {
+        final Mastermind mm3 = new Mastermind("1234", 2, true);
+        // @formatter:off, @checkstyle:off (Magic numbers)
+        final Object[][] data = new Object[][]
+        {
+            { MM1, new String[] {}, 5, new String[] { "AAAA", "AAAB", "AABB", "AABC", "ABCD" } },
+            { MM1, new String[] { "AABB" }, 66, new String[] { "AABB", "ABCD" } },
+            { MM1, new String[] { "ABCD" }, 776, new String[] { "ABCD", "ABCE", "EEEE" } },
+            { MM1, new String[] { "AABB", "ABCD" }, 776, new String[] { "AABB", "ABCD" } },
+            { MM2, new String[] {}, 2, new String[] { "AA", "AB" } },
+            { mm3, new String[] {}, 1, new String[] { "12" } },
+            { mm3, new String[] { "12" }, 7, new String[] { "12", "21", "34" } },
+        };
+        // @formatter:on, @checkstyle:on
+        return Arrays.asList(data);
+    }
+
+    @Test
+    public final void testGetCanonicalGuesses()
+    {
+        final CodeTable codes = mastermind.getCodes();
+        final int[] indexes = new int[guesses.length];
+        for (int i = 0; i < guesses.length; i++)
+        {
+            indexes[i] = codes.getIndex(guesses[i]);
+        }
+        final CodeSet result =
+            new GuessSymmetry(mastermind).getCanonicalGuesses(indexes, indexes.length);
+        assertEquals(M_WRONG_SIZE, size, result.size());
+        for (final String code : canonical)
+        {
+            assertTrue(M_NOT_CANONICAL, result.contains(codes.getIndex(code)));
+        }
+    }
+}
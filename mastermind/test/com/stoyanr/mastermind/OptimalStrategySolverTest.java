@@ -0,0 +1,81 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import static com.stoyanr.mastermind.Constants.*;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(value = Parameterized.class)
+public class OptimalStrategySolverTest
+{
+    private static final String M_WRONG_TOTAL_ROUNDS = "Wrong total rounds:";
+    private static final String M_WRONG_GAMES_WON = "Wrong games won:";
+
+    private final transient Mastermind mastermind;
+    private final transient int totalRounds;
+    private final transient int threads;
+
+    public OptimalStrategySolverTest(final Mastermind mastermind, final int totalRounds,
+        final int threads)
+    {
+        this.mastermind = mastermind;
+        this.totalRounds = totalRounds;
+        this.threads = threads;
+    }
+
+    @Parameters
+    public static Collection<Object[]> data()
+    {
+        // @formatter:off
+        final Object[][] data = new Object[][]
+        {
+            { MM2, MM2_TOTAL_ROUNDS_OPTIMAL, 1 },
+            { MM2, MM2_TOTAL_ROUNDS_OPTIMAL, 3 },
+            { MM_3X3, MM_3X3_TOTAL_ROUNDS_OPTIMAL, 1 },
+            { MM_4X2_UNIQUE, MM_4X2_UNIQUE_TOTAL_ROUNDS_OPTIMAL, 1 },
+            { MM_5X3_UNIQUE, MM_5X3_UNIQUE_TOTAL_ROUNDS_OPTIMAL, 1 },
+            { MM_5X3, MM_5X3_TOTAL_ROUNDS_OPTIMAL, 1 },
+            { MM_5X3, MM_5X3_TOTAL_ROUNDS_OPTIMAL, 3 },
+        };
+        // @formatter:on
+        return Arrays.asList(data);
+    }
+
+    @Test
+    public final void testSolve()
+    {
+        final OptimalStrategySolver solver = new OptimalStrategySolver(mastermind);
+        solver.setThreads(threads);
+        final StrategyTree tree = solver.solve();
+        assertEquals(M_WRONG_TOTAL_ROUNDS, totalRounds, solver.getTotalRounds());
+        final AlgorithmEvaluator evaluator =
+            new AlgorithmEvaluator(mastermind, new StrategyAlgorithmFactory(mastermind, tree), 1);
+        evaluator.evaluate();
+        final int numGames = mastermind.getCodes().size();
+        assertEquals(M_WRONG_GAMES_WON, numGames, evaluator.getGamesWon());
+        assertEquals(M_WRONG_TOTAL_ROUNDS, totalRounds, evaluator.getTotalRoundsPlayed());
+    }
+}
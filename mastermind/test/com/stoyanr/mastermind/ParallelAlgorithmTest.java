@@ -0,0 +1,108 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import static com.stoyanr.mastermind.Constants.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(value = Parameterized.class)
+public class ParallelAlgorithmTest
+{
+    private static final String M_WRONG_GUESS = "Wrong guess:";
+    private static final String M_WRONG_PARTS = "Wrong number of parts:";
+    private static final String M_EMPTY_PART = "Empty part:";
+
+    private static final int THREADS = 3;
+
+    // @checkstyle:off (Magic numbers)
+    private static final Mastermind MM3 = new Mastermind("ABCDEFGH", 5, false);
+    private static final String[] MM1_CODES = { MM1_CODE, "AAAA", "FEDC", "CAFE" };
+    private static final String[] MM3_CODES = { "ABCDE", "HHHHH", "GAGAG" };
+    // @checkstyle:on
+
+    private final transient Mastermind mastermind;
+    private final transient AlgorithmFactory factory;
+    private final transient String[] codes;
+
+    public ParallelAlgorithmTest(final Mastermind mastermind, final AlgorithmFactory factory,
+        final String[] codes)
+    {
+        this.mastermind = mastermind;
+        this.factory = factory;
+        this.codes = Arrays.copyOf(codes, codes.length);
+    }
+
+    @Parameters
+    public static Collection<Object[]> data()
+    {
+        // @formatter:off
+        final Object[][] data = new Object[][]
+        {
+            { MM1, new SimpleAlgorithmFactory(MM1), MM1_CODES },
+            { MM1, new KnuthAlgorithmFactory(MM1), MM1_CODES },
+            { MM1, new PharaoxAlgorithmFactory(MM1, 0.5), MM1_CODES },
+            { MM1, new ExpectedSizeAlgorithmFactory(MM1), MM1_CODES },
+            { MM3, new SimpleAlgorithmFactory(MM3), MM3_CODES },
+        };
+        // @formatter:on
+        return Arrays.asList(data);
+    }
+
+    @Test
+    public final void testMakeGuess()
+    {
+        final AlgorithmFactory parallelFactory = new ParallelAlgorithmFactory(factory, THREADS);
+        for (final String code : codes)
+        {
+            final Algorithm algorithm = factory.getAlgorithm();
+            final Algorithm parallelAlgorithm = parallelFactory.getAlgorithm();
+            String guess;
+            do
+            {
+                guess = algorithm.makeGuess();
+                assertEquals(M_WRONG_GUESS, guess, parallelAlgorithm.makeGuess());
+                final Score score = mastermind.evaluateScore(guess, code);
+                algorithm.putGuessScore(guess, score);
+                parallelAlgorithm.putGuessScore(guess, score);
+            }
+            while (!guess.equals(code));
+        }
+    }
+
+    @Test
+    public final void testSplitGuesses()
+    {
+        final CodeSet guesses = mastermind.getGuessSymmetry().getCanonicalGuesses(new int[0], 0);
+        final int[] bounds = AbstractAlgorithm.splitGuesses(guesses, THREADS);
+        assertEquals(M_WRONG_PARTS, THREADS + 1, bounds.length);
+        for (int i = 0; i < THREADS; i++)
+        {
+            final int guess = guesses.next(bounds[i]);
+            assertTrue(M_EMPTY_PART + i, guess >= 0 && guess < bounds[i + 1]);
+        }
+    }
+}
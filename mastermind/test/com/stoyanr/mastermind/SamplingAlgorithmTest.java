@@ -0,0 +1,100 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import static com.stoyanr.mastermind.Constants.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(value = Parameterized.class)
+public class SamplingAlgorithmTest
+{
+    private static final String M_WRONG_GUESS = "Wrong guess:";
+    private static final String M_TOO_MANY_ROUNDS = "Too many rounds:";
+
+    // @checkstyle:off (Magic numbers)
+    private static final Mastermind MM3 = new Mastermind("ABCDEFGH", 6, false);
+    private static final String[] MM1_CODES = { "ABCD", "FFFF", "EAEA" };
+    private static final String[] MM3_CODES = { "ABCDEF", "HHHHHH", "GAGAGA" };
+    private static final int MM1_MAX_ROUNDS = 8;
+    private static final int MM3_MAX_ROUNDS = 12;
+    // @checkstyle:on
+
+    private final transient Mastermind mastermind;
+    private final transient AlgorithmFactory factory;
+    private final transient String[] codes;
+    private final transient int maxRounds;
+
+    // @checkstyle:off (Too many parameters)
+    public SamplingAlgorithmTest(final Mastermind mastermind, final AlgorithmFactory factory,
+        final String[] codes, final int maxRounds)
+    // @checkstyle:on
+    {
+        this.mastermind = mastermind;
+        this.factory = new SamplingAlgorithmFactory(factory, SAMPLING_SAMPLES, SAMPLING_SAMPLES,
+            SAMPLING_SEED);
+        this.codes = Arrays.copyOf(codes, codes.length);
+        this.maxRounds = maxRounds;
+    }
+
+    @Parameters
+    public static Collection<Object[]> data()
+    {
+        // @formatter:off
+        final Object[][] data = new Object[][]
+        {
+            { MM1, new KnuthAlgorithmFactory(MM1), MM1_CODES, MM1_MAX_ROUNDS },
+            { MM1, new ExpectedSizeAlgorithmFactory(MM1), MM1_CODES, MM1_MAX_ROUNDS },
+            { MM3, new KnuthAlgorithmFactory(MM3), MM3_CODES, MM3_MAX_ROUNDS },
+            { MM3, new ExpectedSizeAlgorithmFactory(MM3), MM3_CODES, MM3_MAX_ROUNDS },
+        };
+        // @formatter:on
+        return Arrays.asList(data);
+    }
+
+    @Test
+    public final void testMakeGuess()
+    {
+        for (final String code : codes)
+        {
+            final Algorithm algorithm1 = factory.getAlgorithm();
+            final Algorithm algorithm2 = factory.getAlgorithm();
+            int rounds = 0;
+            String guess;
+            do
+            {
+                guess = algorithm1.makeGuess();
+                assertEquals(M_WRONG_GUESS, guess, algorithm2.makeGuess());
+                final Score score = mastermind.evaluateScore(guess, code);
+                algorithm1.putGuessScore(guess, score);
+                algorithm2.putGuessScore(guess, score);
+                rounds++;
+            }
+            while (!guess.equals(code) && rounds < maxRounds);
+            assertTrue(M_TOO_MANY_ROUNDS, guess.equals(code));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import static com.stoyanr.mastermind.Constants.*;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(value = Parameterized.class)
+public class SamplingEvaluatorTest
+{
+    private static final String M_WRONG_GAMES_WON = "Wrong games won:";
+    private static final String M_WRONG_TOTAL_ROUNDS = "Wrong total rounds:";
+
+    private final transient Mastermind mastermind;
+    private final transient AlgorithmFactory factory;
+    private final transient int numGames;
+
+    public SamplingEvaluatorTest(final Mastermind mastermind, final AlgorithmFactory factory,
+        final int numGames)
+    {
+        this.mastermind = mastermind;
+        this.factory = new SamplingAlgorithmFactory(factory, SAMPLING_SAMPLES, SAMPLING_SAMPLES,
+            SAMPLING_SEED);
+        this.numGames = numGames;
+    }
+
+    @Parameters
+    public static Collection<Object[]> data()
+    {
+        // @formatter:off
+        final Object[][] data = new Object[][]
+        {
+            { MM1, new KnuthAlgorithmFactory(MM1), MM1_NUM_GAMES },
+            { MM1, new ExpectedSizeAlgorithmFactory(MM1), MM1_NUM_GAMES },
+        };
+        // @formatter:on
+        return Arrays.asList(data);
+    }
+
+    @Test
+    public final void testEvaluate()
+    {
+        final AlgorithmEvaluator evaluator1 = new AlgorithmEvaluator(mastermind, factory, 1);
+        final AlgorithmEvaluator evaluator2 = new AlgorithmEvaluator(mastermind, factory, 1);
+        evaluator1.evaluate();
+        evaluator2.evaluate();
+        assertEquals(M_WRONG_GAMES_WON, numGames, evaluator1.getGamesWon());
+        assertEquals(M_WRONG_TOTAL_ROUNDS, evaluator1.getTotalRoundsPlayed(),
+            evaluator2.getTotalRoundsPlayed());
+    }
+}
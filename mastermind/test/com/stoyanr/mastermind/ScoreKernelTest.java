@@ -0,0 +1,160 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import static com.stoyanr.mastermind.Constants.*;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(value = Parameterized.class)
+public class ScoreKernelTest
+{
+    private static final String M_WRONG_SCORE = "Wrong score:";
+    private static final String M_NO_KERNEL = "No kernel";
+    private static final String M_UNEXPECTED_KERNEL = "Unexpected kernel";
+    private static final String M_WRONG_HISTOGRAM = "Wrong histogram:";
+    private static final int NUM_GUESSES = 64;
+
+    private final transient Mastermind mastermind;
+    private final transient boolean supported;
+
+    public ScoreKernelTest(final Mastermind mastermind, final boolean supported)
+    {
+        this.mastermind = mastermind;
+        this.supported = supported;
+    }
+
+    @Parameters
+    public static Collection<Object[]> data()
+    {
+        // @formatter:off
+        final Object[][] data = new Object[][]
+        {
+            { MM1, true },
+            { MM2, true },
+            { new Mastermind("1234", 2, true), true },
+            { new Mastermind("0123456789", 4, true), true },
+            { new Mastermind("ABCDEFGH", 3, false), true },
+            { new Mastermind("0123456789ABCDEFGH", 2, false), true },
+            { new Mastermind("0123456789ABCDEFGH", 4, false), false },
+        };
+        // @formatter:on
+        return Arrays.asList(data);
+    }
+
+    @Test
+    public final void testEvaluateScoreIndex()
+    {
+        final ScoreKernel kernel = getKernel();
+        if (kernel != null)
+        {
+            final CodeTable codes = mastermind.getCodes();
+            final int size = codes.size();
+            for (int guess = 0; guess < size; guess++)
+            {
+                final String guessx = codes.getCode(guess);
+                for (int code = 0; code < size; code++)
+                {
+                    final Score expected = mastermind.evaluateScore(guessx, codes.getCode(code));
+                    assertEquals(M_WRONG_SCORE, mastermind.getScoreIndex(expected),
+                        kernel.evaluateScoreIndex(guess, code));
+                }
+            }
+        }
+    }
+
+    @Test
+    public final void testEvaluateScoreIndexes()
+    {
+        final ScoreKernel kernel = getKernel();
+        if (kernel != null)
+        {
+            final int size = mastermind.getCodes().size();
+            final int[] codes = new int[size];
+            for (int code = 0; code < size; code++)
+            {
+                codes[code] = size - 1 - code;
+            }
+            final byte[] result = new byte[size];
+            for (int guess = 0; guess < size; guess++)
+            {
+                kernel.evaluateScoreIndexes(guess, codes, result);
+                for (int i = 0; i < size; i++)
+                {
+                    assertEquals(M_WRONG_SCORE, kernel.evaluateScoreIndex(guess, codes[i]),
+                        result[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public final void testEvaluateScores()
+    {
+        getKernel();
+        final int size = mastermind.getCodes().size();
+        final int[] codes = new int[size];
+        for (int code = 0; code < size; code++)
+        {
+            codes[code] = size - 1 - code;
+        }
+        final int numScores = mastermind.getAllPossibleScores().size();
+        final byte[] ordinals = new byte[size];
+        final int step = Math.max(size / NUM_GUESSES, 1);
+        for (int guess = 0; guess < size; guess += step)
+        {
+            final int[] histogram = new int[numScores];
+            final int[] histogram2 = new int[numScores];
+            mastermind.evaluateScores(guess, codes, histogram, ordinals);
+            mastermind.evaluateScores(guess, codes, histogram2, null);
+            final int[] expected = new int[numScores];
+            for (int i = 0; i < size; i++)
+            {
+                final int index = mastermind.evaluateScoreIndex(guess, codes[i]);
+                assertEquals(M_WRONG_SCORE, index, ordinals[i]);
+                expected[index]++;
+            }
+            assertArrayEquals(M_WRONG_HISTOGRAM, expected, histogram);
+            assertArrayEquals(M_WRONG_HISTOGRAM, expected, histogram2);
+        }
+    }
+
+    private ScoreKernel getKernel()
+    {
+        final ScoreKernel result = mastermind.getScoreKernel();
+        if (supported)
+        {
+            assertNotNull(M_NO_KERNEL, result);
+        }
+        else
+        {
+            assertNull(M_UNEXPECTED_KERNEL, result);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import static com.stoyanr.mastermind.Constants.*;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(value = Parameterized.class)
+public class ScoreTableTest
+{
+    private static final String M_WRONG_SIZE = "Wrong size:";
+    private static final String M_WRONG_SCORE = "Wrong score:";
+
+    // @checkstyle:off (Magic numbers)
+    private static final Mastermind MM4 = new Mastermind("ABCDEFGH", 6, false);
+    // @checkstyle:on
+
+    private final transient Mastermind mastermind;
+    private final transient long maxHeapSize;
+
+    public ScoreTableTest(final Mastermind mastermind, final long maxHeapSize)
+    {
+        this.mastermind = mastermind;
+        this.maxHeapSize = maxHeapSize;
+    }
+
+    @Parameters
+    public static Collection<Object[]> data()
+    {
+        final Mastermind mm3 = new Mastermind("1234", 2, true);
+        // @formatter:off
+        final Object[][] data = new Object[][]
+        {
+            { MM1, ScoreTable.MAX_HEAP_SIZE },
+            { MM2, ScoreTable.MAX_HEAP_SIZE },
+            { MM2, 0L },
+            { mm3, ScoreTable.MAX_HEAP_SIZE },
+            { mm3, 0L },
+        };
+        // @formatter:on
+        return Arrays.asList(data);
+    }
+
+    @Test
+    public final void testGetScoreIndex()
+    {
+        final ScoreTable table = new ScoreTable(mastermind, maxHeapSize);
+        final int size = mastermind.getCodes().size();
+        assertEquals(M_WRONG_SIZE, size, table.size());
+        for (int guess = 0; guess < size; guess++)
+        {
+            for (int code = 0; code < size; code++)
+            {
+                final Score score = mastermind.evaluateScore(guess, code);
+                assertEquals(M_WRONG_SCORE, mastermind.getScoreIndex(score),
+                    table.getScoreIndex(guess, code));
+            }
+        }
+    }
+
+    @Test(expected = MastermindException.class)
+    public final void testCreateTooLarge()
+    {
+        new ScoreTable(MM4, maxHeapSize);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import static com.stoyanr.mastermind.Constants.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(value = Parameterized.class)
+public class ScoresTest
+{
+    private static final String M_WRONG_SCORE = "Wrong score:";
+    private static final String M_WRONG_INDEX = "Wrong index:";
+    private static final String M_NOT_WINNING = "Not winning:";
+
+    private final transient Mastermind mastermind;
+
+    public ScoresTest(final Mastermind mastermind)
+    {
+        this.mastermind = mastermind;
+    }
+
+    @Parameters
+    public static Collection<Object[]> data()
+    {
+        final Mastermind mm3 = new Mastermind("1234", 2, true);
+        // @formatter:off
+        final Object[][] data = new Object[][]
+        {
+            { MM1 },
+            { MM2 },
+            { mm3 },
+        };
+        // @formatter:on
+        return Arrays.asList(data);
+    }
+
+    @Test
+    public final void testGetScore()
+    {
+        final List<Score> scores = mastermind.getAllPossibleScores();
+        for (int i = 0; i < scores.size(); i++)
+        {
+            final Score score = scores.get(i);
+            assertSame(M_WRONG_SCORE, score,
+                mastermind.getScore(score.getCows(), score.getBulls()));
+            assertEquals(M_WRONG_INDEX, i,
+                mastermind.getScoreIndex(new Score(score.getCows(), score.getBulls())));
+        }
+        assertSame(M_WRONG_SCORE, Score.ZERO_SCORE, scores.get(0));
+        assertNull(M_WRONG_SCORE, mastermind.getScore(1, mastermind.getLength() - 1));
+        assertNull(M_WRONG_SCORE, mastermind.getScore(1, mastermind.getLength()));
+        assertNull(M_WRONG_SCORE, mastermind.getScore(-1, 0));
+    }
+
+    @Test
+    public final void testWinningScore()
+    {
+        final Score winning = mastermind.getWinningScore();
+        assertSame(M_WRONG_SCORE, winning, mastermind.getScore(0, mastermind.getLength()));
+        assertTrue(M_NOT_WINNING, mastermind.isWinningScore(winning));
+    }
+
+    @Test
+    public final void testEvaluateScore()
+    {
+        final CodeTable codes = mastermind.getCodes();
+        final List<Score> scores = mastermind.getAllPossibleScores();
+        for (int guess = 0; guess < codes.size(); guess++)
+        {
+            for (int code = 0; code < codes.size(); code++)
+            {
+                final Score score =
+                    mastermind.evaluateScore(codes.getCode(guess), codes.getCode(code));
+                assertSame(M_WRONG_SCORE, scores.get(mastermind.evaluateScoreIndex(guess, code)),
+                    score);
+            }
+        }
+    }
+}
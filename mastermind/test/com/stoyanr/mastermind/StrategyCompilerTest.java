@@ -0,0 +1,86 @@
+/*
+ * $Id: $
+ *
+ * Copyright 2012 Stoyan Rachev (stoyanr@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stoyanr.mastermind;
+
+import static com.stoyanr.mastermind.Constants.*;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(value = Parameterized.class)
+public class StrategyCompilerTest
+{
+    private static final String M_WRONG_GUESS = "Wrong guess:";
+    private static final String M_WRONG_GAMES_WON = "Wrong games won:";
+    private static final String M_WRONG_MAX_ROUNDS = "Wrong max rounds:";
+    private static final String M_WRONG_TOTAL_ROUNDS = "Wrong total rounds:";
+
+    private final transient Mastermind mastermind;
+    private final transient AlgorithmFactory factory;
+    private final transient int numGames;
+    private final transient int maxRounds;
+    private final transient int totalRounds;
+
+    public StrategyCompilerTest(final Mastermind mastermind, final AlgorithmFactory factory,
+        final int numGames, final int maxRounds, final int totalRounds)
+    {
+        this.mastermind = mastermind;
+        this.factory = factory;
+        this.numGames = numGames;
+        this.maxRounds = maxRounds;
+        this.totalRounds = totalRounds;
+    }
+
+    @Parameters
+    public static Collection<Object[]> data()
+    {
+        // @formatter:off, @checkstyle:off
+        final Object[][] data = new Object[][]
+        {
+            { MM1, new SimpleAlgorithmFactory(MM1), MM1_NUM_GAMES, MM1_MAX_ROUNDS_SIMPLE, MM1_TOTAL_ROUNDS_SIMPLE },
+            { MM1, new KnuthAlgorithmFactory(MM1), MM1_NUM_GAMES, MM1_MAX_ROUNDS_KNUTH, MM1_TOTAL_ROUNDS_KNUTH },
+            { MM1, new ExpectedSizeAlgorithmFactory(MM1), MM1_NUM_GAMES, MM1_MAX_ROUNDS_ESIZE, MM1_TOTAL_ROUNDS_ESIZE },
+            { MM2, new KnuthAlgorithmFactory(MM2), MM2_NUM_GAMES, MM2_MAX_ROUNDS_KNUTH, MM2_TOTAL_ROUNDS_KNUTH },
+            { MM2, new DumbAlgorithmFactory(MM2), MM2_NUM_GAMES, MM2_MAX_ROUNDS_DUMB, MM2_TOTAL_ROUNDS_DUMB },
+        };
+        // @formatter:on, @checkstyle:on
+        return Arrays.asList(data);
+    }
+
+    @Test
+    public final void testCompile()
+    {
+        final StrategyTree tree =
+            new StrategyCompiler(mastermind, factory, AlgorithmEvaluator.MAX_ROUNDS).compile();
+        final AlgorithmFactory factoryx = new StrategyAlgorithmFactory(mastermind, tree);
+        final Algorithm algorithm = factory.getAlgorithm();
+        assertEquals(M_WRONG_GUESS, algorithm.makeGuess(), factoryx.getAlgorithm().makeGuess());
+        final AlgorithmEvaluator evaluator = new AlgorithmEvaluator(mastermind, factoryx, 1);
+        evaluator.evaluate();
+        final int expectedGamesWon = (factory instanceof DumbAlgorithmFactory) ? 1 : numGames;
+        assertEquals(M_WRONG_GAMES_WON, expectedGamesWon, evaluator.getGamesWon());
+        assertEquals(M_WRONG_MAX_ROUNDS, maxRounds, evaluator.getMaxRoundsPlayed());
+        assertEquals(M_WRONG_TOTAL_ROUNDS, totalRounds, evaluator.getTotalRoundsPlayed());
+    }
+}